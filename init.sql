@@ -5,6 +5,15 @@
 USE car_rsvt;
 
 
+-- Id blocks for entities written in bulk (Reservation, Vehicle use pooled @TableGenerator ids).
+-- next_val is the upper bound of the next block; on an existing database set it to at least
+-- MAX(id) + 100 before deploying.
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
 -- Create driver table first (referenced by vehicle)
 CREATE TABLE IF NOT EXISTS driver (
     driver_id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -49,13 +58,41 @@ CREATE TABLE IF NOT EXISTS reservation (
     customer_id BIGINT NOT NULL,
     vehicle_id BIGINT NOT NULL,
     pickup_time DATETIME(6),
+    dropoff_time DATETIME(6),
     pickup_location VARCHAR(255),
     dropoff_location VARCHAR(255),
     status VARCHAR(20) DEFAULT 'PENDING',
+    pickup_latitude DOUBLE,
+    pickup_longitude DOUBLE,
     FOREIGN KEY (customer_id) REFERENCES customer(customer_id) ON DELETE CASCADE,
     FOREIGN KEY (vehicle_id) REFERENCES vehicle(vehicle_id) ON DELETE CASCADE,
     INDEX idx_customer_reservation (customer_id),
-    INDEX idx_vehicle_reservation (vehicle_id)
+    INDEX idx_vehicle_reservation (vehicle_id),
+    INDEX idx_reservation_vehicle_pickup (vehicle_id, pickup_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- Create driver_location table (GPS trail, appended in JDBC batches)
+CREATE TABLE IF NOT EXISTS driver_location (
+    location_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    driver_id BIGINT NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    INDEX idx_driver_location_driver_time (driver_id, recorded_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- Create rate_card table (loaded into memory by PricingService)
+CREATE TABLE IF NOT EXISTS rate_card (
+    rate_card_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    vehicle_type VARCHAR(255) NOT NULL,
+    day_of_week INT,
+    start_hour INT NOT NULL,
+    end_hour INT NOT NULL,
+    base_fare DECIMAL(10, 2) NOT NULL,
+    per_km DECIMAL(10, 2) NOT NULL,
+    per_hour DECIMAL(10, 2) NOT NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
@@ -66,8 +103,22 @@ CREATE TABLE IF NOT EXISTS payment (
     amount DECIMAL(10, 2) NOT NULL,
     method VARCHAR(50),
     status VARCHAR(20) DEFAULT 'PENDING',
+    idempotency_key CHAR(64),
+    request_hash CHAR(64),
     FOREIGN KEY (reservation_id) REFERENCES reservation(reservation_id) ON DELETE CASCADE,
-    INDEX idx_reservation_payment (reservation_id)
+    INDEX idx_reservation_payment (reservation_id),
+    UNIQUE KEY uk_payment_idempotency_key (idempotency_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- Create payment_outbox table (payments waiting for the processor)
+CREATE TABLE IF NOT EXISTS payment_outbox (
+    outbox_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    payment_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    available_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    INDEX idx_payment_outbox_available (available_at, outbox_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
@@ -87,13 +138,31 @@ CREATE TABLE IF NOT EXISTS payment_method (
 -- Create feedback table
 CREATE TABLE IF NOT EXISTS feedback (
     feedback_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    customer_id BIGINT,
     reservation_id BIGINT NOT NULL,
+    vehicle_id BIGINT,
+    driver_id BIGINT,
     rating INT CHECK (rating >= 1 AND rating <= 5),
     comment TEXT,
     FOREIGN KEY (reservation_id) REFERENCES reservation(reservation_id) ON DELETE CASCADE,
     INDEX idx_reservation_feedback (reservation_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Create rating_rollup table (rating totals per vehicle, driver and customer, maintained by RatingService)
+CREATE TABLE IF NOT EXISTS rating_rollup (
+    rollup_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    subject_type VARCHAR(16) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    rating_count BIGINT NOT NULL,
+    rating_sum BIGINT NOT NULL,
+    rating_1 BIGINT NOT NULL,
+    rating_2 BIGINT NOT NULL,
+    rating_3 BIGINT NOT NULL,
+    rating_4 BIGINT NOT NULL,
+    rating_5 BIGINT NOT NULL,
+    UNIQUE KEY uk_rating_rollup_subject (subject_type, subject_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 
 -- Insert sample data
 INSERT INTO customer (first_name, last_name, username, password, email, phone_number, status) VALUES
@@ -110,3 +179,8 @@ INSERT INTO vehicle (driver_id, vehicle_type, license_plate, status) VALUES
 (1, 'SUV', 'ABC-1234', 'AVAILABLE'),
 (2, 'SEDAN', 'DEF-5678', 'AVAILABLE'),
 (3, 'VAN', 'GHI-9012', 'AVAILABLE');
+
+INSERT IGNORE INTO id_generator (sequence_name, next_val)
+SELECT 'vehicle', COALESCE(MAX(vehicle_id), 0) + 100 FROM vehicle;
+INSERT IGNORE INTO id_generator (sequence_name, next_val)
+SELECT 'reservation', COALESCE(MAX(reservation_id), 0) + 100 FROM reservation;
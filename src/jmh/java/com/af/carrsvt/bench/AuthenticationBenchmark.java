@@ -0,0 +1,88 @@
+package com.af.carrsvt.bench;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.repository.CustomerRepository;
+import com.af.carrsvt.security.CachingAuthenticationProvider;
+import com.af.carrsvt.security.CredentialCache;
+import com.af.carrsvt.security.CustomerUserDetailsService;
+import com.af.carrsvt.security.TokenService;
+import com.af.carrsvt.security.TokenService.TokenClaims;
+
+/**
+ * HTTP Basic authentication through {@link CustomerUserDetailsService} and BCrypt (cost 10),
+ * against the credential-cache hit and bearer-token verification that replace it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthenticationBenchmark {
+
+    private AuthenticationProvider bcrypt;
+    private AuthenticationProvider cached;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setUsername("abah");
+        customer.setPassword(encoder.encode("pitersholeh"));
+        customer.setStatus("A");
+        CustomerRepository repository = mock(CustomerRepository.class);
+        when(repository.findByUsername("abah")).thenReturn(Optional.of(customer));
+
+        CustomerUserDetailsService userDetailsService = new CustomerUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "customerRepository", repository);
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(userDetailsService);
+        dao.setPasswordEncoder(encoder);
+        bcrypt = dao;
+        cached = new CachingAuthenticationProvider(dao, new CredentialCache(Duration.ofMinutes(5), 1000));
+        cached.authenticate(credentials());
+
+        tokenService = new TokenService("bench-secret-bench-secret-bench-secret", Duration.ofHours(1));
+        token = tokenService.issue(1L, "abah");
+    }
+
+    @Benchmark
+    public Authentication basicWithBcrypt() {
+        return bcrypt.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication basicWithCredentialCache() {
+        return cached.authenticate(credentials());
+    }
+
+    @Benchmark
+    public TokenClaims bearerToken() {
+        return tokenService.verify(token);
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials() {
+        return UsernamePasswordAuthenticationToken.unauthenticated("abah", "pitersholeh");
+    }
+}
@@ -0,0 +1,61 @@
+package com.af.carrsvt.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.af.carrsvt.dto.CustomerDto;
+import com.af.carrsvt.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/** Building and serializing error bodies, which sit on every 4xx path. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private EntityNotFoundException notFound;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        notFound = new EntityNotFoundException("Customer not found");
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(new CustomerDto(), "customerDto");
+        errors.rejectValue("email", "Email", "must be a well-formed email address");
+        errors.rejectValue("password", "Size", "password must be at least 6 characters");
+        MethodParameter parameter = new MethodParameter(
+            ExceptionHandlerBenchmark.class.getDeclaredMethod("target", CustomerDto.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, errors);
+    }
+
+    @Benchmark
+    public byte[] notFound() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleEntityNotFound(notFound).getBody());
+    }
+
+    @Benchmark
+    public byte[] validationErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleValidationExceptions(invalid, null).getBody());
+    }
+
+    @SuppressWarnings("unused")
+    private void target(CustomerDto dto) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.af.carrsvt.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.af.carrsvt.CarReservationApplication;
+import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.service.CustomerService;
+import com.af.carrsvt.service.ReservationService;
+import com.af.carrsvt.service.VehicleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Platform versus virtual request threads under ReservationController's traffic: 60% lookups
+ * by id, 25% customer listings, 15% bookings. Each invocation fires {@code concurrency}
+ * simultaneous HTTP requests at the full application on H2 and waits for all of them, so the
+ * score is the time to drain one burst. Compare the two {@code virtualThreads} rows at equal
+ * concurrency; for MySQL numbers run {@code ./gradlew loadTest -Dloadtest.virtualThreads=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutionModeBenchmark {
+
+    private static final int VEHICLES = 500;
+    private static final String PASSWORD = "bench-password";
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200", "2000"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient http;
+    private String baseUrl;
+    private String bearer;
+    private long customerId;
+    private long firstVehicleId;
+    private long[] reservationIds;
+    private final AtomicLong bookingSlot = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(CarReservationApplication.class)
+            .properties(
+                "server.port=0",
+                "reactive.server.port=0",
+                // the outbox poller would only add background queries to the measurements
+                "payment.processing.enabled=false",
+                "server.tomcat.accept-count=4096",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                // queue bursts rather than shed them, so both modes complete the same work
+                "datasource.bulkhead.max-wait=60s",
+                "spring.datasource.url=jdbc:h2:mem:modes;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN")
+            .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        Customer customer = new Customer();
+        customer.setUsername("bench");
+        customer.setPassword(PASSWORD);
+        customer.setEmail("bench@bench.local");
+        customer.setStatus("A");
+        customerId = context.getBean(CustomerService.class).saveCustomer(customer).getCustomerId();
+        VehicleService vehicleService = context.getBean(VehicleService.class);
+        ReservationService reservationService = context.getBean(ReservationService.class);
+        reservationIds = new long[VEHICLES];
+        for (int i = 0; i < VEHICLES; i++) {
+            Vehicle v = Fixtures.vehicle(i + 1);
+            v.setVehicleId(null);
+            v.setDriverId(null);
+            long vehicleId = vehicleService.saveVehicle(v).getVehicleId();
+            if (i == 0) {
+                firstVehicleId = vehicleId;
+            }
+            Reservation r = Fixtures.reservation(i + 1);
+            r.setReservationId(null);
+            r.setCustomerId(customerId);
+            r.setVehicleId(vehicleId);
+            reservationIds[i] = reservationService.saveReservation(r).getReservationId();
+        }
+
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build();
+        HttpResponse<String> login = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"bench\",\"password\":\"" + PASSWORD + "\"}"))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        bearer = "Bearer " + new ObjectMapper().readTree(login.body()).get("accessToken").asText();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.shutdownNow();
+        context.close();
+    }
+
+    /** Returns the number of requests answered without a 5xx. */
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> inFlight = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            inFlight.add(clients.submit(this::sendOne));
+        }
+        int ok = 0;
+        for (Future<Integer> f : inFlight) {
+            ok += f.get();
+        }
+        return ok;
+    }
+
+    private int sendOne() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int dice = random.nextInt(100);
+        HttpRequest.Builder request;
+        if (dice < 60) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations/" + reservationIds[random.nextInt(VEHICLES)])).GET();
+        } else if (dice < 85) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations/get?customerId=" + customerId + "&limit=20")).GET();
+        } else {
+            // every booking gets its own future slot, so the write path is measured rather than 409s
+            long slot = bookingSlot.incrementAndGet();
+            String pickup = ISO.format(Fixtures.BASE.plusYears(1).plusHours(3 * (slot / VEHICLES)));
+            String dropoff = ISO.format(Fixtures.BASE.plusYears(1).plusHours(3 * (slot / VEHICLES) + 2));
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations/create"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerId\":" + customerId + ",\"vehicleId\":"
+                    + (firstVehicleId + slot % VEHICLES) + ",\"pickupTime\":\"" + pickup + "\",\"dropoffTime\":\"" + dropoff
+                    + "\",\"pickupLocation\":\"Jl. Thamrin\",\"dropoffLocation\":\"Bandara\",\"status\":\"CONFIRMED\"}"));
+        }
+        HttpResponse<Void> response = http.send(request.header("Authorization", bearer).build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 500 ? 1 : 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.af.carrsvt.bench;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.af.carrsvt.dto.PaymentDto;
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+
+/** Deterministic rows shared by the benchmarks. */
+final class Fixtures {
+
+    static final OffsetDateTime BASE = OffsetDateTime.of(2026, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private Fixtures() {
+    }
+
+    static Reservation reservation(long id) {
+        Reservation r = new Reservation();
+        r.setReservationId(id);
+        r.setCustomerId(id % 97);
+        r.setVehicleId(id % 31);
+        r.setPickupTime(BASE.plusHours(id));
+        r.setDropoffTime(BASE.plusHours(id + 2));
+        r.setPickupLocation("Jl. Sudirman " + id);
+        r.setDropoffLocation("Bandara Soekarno-Hatta");
+        r.setStatus("CONFIRMED");
+        return r;
+    }
+
+    static Vehicle vehicle(long id) {
+        Vehicle v = new Vehicle();
+        v.setVehicleId(id);
+        v.setDriverId(id);
+        v.setVehicleType(id % 2 == 0 ? "SUV" : "SEDAN");
+        v.setLicensePlate("B" + (1000 + id) + "CD");
+        v.setStatus("AVAILABLE");
+        return v;
+    }
+
+    static Payment payment(long id) {
+        Payment p = new Payment();
+        p.setPaymentId(id);
+        p.setReservationId(id);
+        p.setPaymentTime(BASE.plusMinutes(id));
+        p.setAmount(new BigDecimal("350000.00"));
+        p.setPaymentMethod("CARD");
+        p.setStatus("PAID");
+        return p;
+    }
+
+    static List<ReservationDto> reservationDtos(int n) {
+        List<ReservationDto> rows = new ArrayList<>(n);
+        for (long id = 1; id <= n; id++) {
+            Reservation r = reservation(id);
+            rows.add(new ReservationDto(r.getReservationId(), r.getCustomerId(), r.getVehicleId(), r.getPickupTime(),
+                r.getDropoffTime(), r.getPickupLocation(), r.getDropoffLocation(), r.getStatus(),
+                r.getPickupLatitude(), r.getPickupLongitude()));
+        }
+        return rows;
+    }
+
+    static List<VehicleDto> vehicleDtos(int n) {
+        List<VehicleDto> rows = new ArrayList<>(n);
+        for (long id = 1; id <= n; id++) {
+            Vehicle v = vehicle(id);
+            rows.add(new VehicleDto(v.getVehicleId(), v.getDriverId(), v.getVehicleType(), v.getLicensePlate(), v.getStatus()));
+        }
+        return rows;
+    }
+
+    static List<PaymentDto> paymentDtos(int n) {
+        List<PaymentDto> rows = new ArrayList<>(n);
+        for (long id = 1; id <= n; id++) {
+            Payment p = payment(id);
+            rows.add(new PaymentDto(p.getPaymentId(), p.getReservationId(), p.getPaymentTime(), p.getAmount(),
+                p.getPaymentMethod(), p.getStatus()));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,59 @@
+package com.af.carrsvt.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.af.carrsvt.dto.PaymentDto;
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/** Serializing one list page of each DTO, as the /get endpoints do. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<ReservationDto> reservations;
+    private List<VehicleDto> vehicles;
+    private List<PaymentDto> payments;
+
+    @Setup
+    public void setUp() {
+        reservations = Fixtures.reservationDtos(pageSize);
+        vehicles = Fixtures.vehicleDtos(pageSize);
+        payments = Fixtures.paymentDtos(pageSize);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservations);
+    }
+
+    @Benchmark
+    public byte[] vehicles() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vehicles);
+    }
+
+    @Benchmark
+    public byte[] payments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payments);
+    }
+}
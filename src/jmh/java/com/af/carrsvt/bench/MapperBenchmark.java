@@ -0,0 +1,65 @@
+package com.af.carrsvt.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.af.carrsvt.dto.PaymentDto;
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.mapper.PaymentMapper;
+import com.af.carrsvt.mapper.ReservationMapper;
+import com.af.carrsvt.mapper.VehicleMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private final ReservationMapper reservationMapper = Mappers.getMapper(ReservationMapper.class);
+    private final VehicleMapper vehicleMapper = Mappers.getMapper(VehicleMapper.class);
+    private final PaymentMapper paymentMapper = Mappers.getMapper(PaymentMapper.class);
+
+    private Reservation reservation;
+    private ReservationDto reservationDto;
+    private Vehicle vehicle;
+    private Payment payment;
+
+    @Setup
+    public void setUp() {
+        reservation = Fixtures.reservation(42);
+        reservationDto = reservationMapper.reservationToReservationDto(reservation);
+        vehicle = Fixtures.vehicle(42);
+        payment = Fixtures.payment(42);
+    }
+
+    @Benchmark
+    public ReservationDto reservationToDto() {
+        return reservationMapper.reservationToReservationDto(reservation);
+    }
+
+    @Benchmark
+    public Reservation reservationFromDto() {
+        return reservationMapper.reservationDtoToReservation(reservationDto);
+    }
+
+    @Benchmark
+    public VehicleDto vehicleToDto() {
+        return vehicleMapper.vehicleToVehicleDto(vehicle);
+    }
+
+    @Benchmark
+    public PaymentDto paymentToDto() {
+        return paymentMapper.paymentToPaymentDto(payment);
+    }
+}
@@ -0,0 +1,117 @@
+package com.af.carrsvt.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.af.carrsvt.CarReservationApplication;
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.repository.CustomerRepository;
+import com.af.carrsvt.repository.ReservationRepository;
+import com.af.carrsvt.service.CustomerService;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
+import com.af.carrsvt.service.ReservationService;
+import com.af.carrsvt.service.VehicleService;
+
+/**
+ * Service read paths on the full application context backed by in-memory H2, so the
+ * numbers cover Spring proxies, caching, JPA and JDBC but not network or MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    private static final int ROWS = 2_000;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private VehicleService vehicleService;
+    private ReservationService reservationService;
+    private Long customerId;
+    private Long vehicleId;
+    private Long pageStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CarReservationApplication.class)
+            .properties(
+                "server.port=0",
+                "reactive.server.port=0",
+                // the outbox poller would only add background queries to the measurements
+                "payment.processing.enabled=false",
+                "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN")
+            .run();
+        customerService = context.getBean(CustomerService.class);
+        vehicleService = context.getBean(VehicleService.class);
+        reservationService = context.getBean(ReservationService.class);
+
+        CustomerRepository customers = context.getBean(CustomerRepository.class);
+        ReservationRepository reservations = context.getBean(ReservationRepository.class);
+        Customer customer = new Customer();
+        customer.setUsername("bench");
+        customer.setStatus("A");
+        customerId = customers.save(customer).getCustomerId();
+        for (long i = 1; i <= ROWS; i++) {
+            Vehicle v = Fixtures.vehicle(i);
+            v.setVehicleId(null);
+            v.setDriverId(null);
+            Long id = vehicleService.saveVehicle(v).getVehicleId();
+            if (vehicleId == null) {
+                vehicleId = id;
+            }
+            Reservation r = Fixtures.reservation(i);
+            r.setReservationId(null);
+            r.setCustomerId(customerId);
+            r.setVehicleId(id);
+            reservations.save(r);
+        }
+        pageStart = (long) ROWS / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer getCustomerByIdCached() {
+        return customerService.getCustomerById(customerId);
+    }
+
+    @Benchmark
+    public Vehicle getVehicleByIdCached() {
+        return vehicleService.getVehicleById(vehicleId);
+    }
+
+    @Benchmark
+    public KeysetPage<ReservationDto> listReservationsPage() {
+        return reservationService.getReservations(null, customerId, null, null, null, Keyset.of(null, pageStart, 50, null));
+    }
+
+    @Benchmark
+    public List<Vehicle> findAvailableVehicles() {
+        return vehicleService.findAvailableVehicles("SUV", "AVAILABLE", Fixtures.BASE, Fixtures.BASE.plusHours(3), 50);
+    }
+}
@@ -0,0 +1,98 @@
+package com.af.carrsvt.load;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bulk-loads customers, drivers, vehicles and historical reservations with plain JDBC
+ * batches, so seeding millions of rows does not go through JPA. Historical reservations
+ * end before the seed's reference time and never block live bookings.
+ */
+class DataSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+    private static final int BATCH = 5_000;
+
+    private final JdbcTemplate jdbc;
+
+    DataSeeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Seeds rows and returns the id ranges the traffic generator can pick from. */
+    SeedRanges seed(LoadSettings settings, String passwordHash) {
+        long firstCustomer = nextId("customer", "customer_id");
+        batch("insert into customer (username, password, email, status) values (?, ?, ?, 'A')", settings.customers(), (ps, i) -> {
+            ps.setString(1, "load" + i);
+            ps.setString(2, passwordHash);
+            ps.setString(3, "load" + i + "@loadtest.local");
+        });
+        long firstDriver = nextId("driver", "driver_id");
+        batch("insert into driver (username, status) values (?, 'A')", settings.vehicles(), (ps, i) -> ps.setString(1, "driver" + i));
+        // vehicle and reservation ids come from Hibernate's id_generator table, not AUTO_INCREMENT,
+        // so the seeder assigns them itself and then moves the generator past the seeded range
+        long firstVehicle = nextId("vehicle", "vehicle_id");
+        batch("insert into vehicle (vehicle_id, driver_id, vehicle_type, license_plate, status) values (?, ?, ?, ?, 'AVAILABLE')", settings.vehicles(), (ps, i) -> {
+            ps.setLong(1, firstVehicle + i);
+            ps.setLong(2, firstDriver + i);
+            ps.setString(3, i % 3 == 0 ? "SUV" : i % 3 == 1 ? "SEDAN" : "VAN");
+            ps.setString(4, "LT" + i);
+        });
+        long firstReservation = nextId("reservation", "reservation_id");
+        LocalDateTime history = LocalDateTime.now().minusYears(1);
+        batch("insert into reservation (reservation_id, customer_id, vehicle_id, pickup_time, dropoff_time, pickup_location, dropoff_location, status)"
+                + " values (?, ?, ?, ?, ?, 'Seed A', 'Seed B', 'COMPLETED')", settings.reservations(), (ps, i) -> {
+            ps.setLong(1, firstReservation + i);
+            ps.setLong(2, firstCustomer + i % settings.customers());
+            ps.setLong(3, firstVehicle + i % settings.vehicles());
+            LocalDateTime pickup = history.minusHours(3 * (i / settings.vehicles()));
+            ps.setTimestamp(4, Timestamp.valueOf(pickup));
+            ps.setTimestamp(5, Timestamp.valueOf(pickup.plusHours(2)));
+        });
+        primeIdGenerator("vehicle", firstVehicle + settings.vehicles() - 1);
+        primeIdGenerator("reservation", firstReservation + settings.reservations() - 1);
+        return new SeedRanges(firstCustomer, settings.customers(), firstVehicle, settings.vehicles());
+    }
+
+    record SeedRanges(long firstCustomerId, int customers, long firstVehicleId, int vehicles) {
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, long index) throws SQLException;
+    }
+
+    private void batch(String sql, long rows, RowBinder binder) {
+        for (long start = 0; start < rows; start += BATCH) {
+            long from = start;
+            int size = (int) Math.min(BATCH, rows - start);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    binder.bind(ps, from + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private long nextId(String table, String idColumn) {
+        Long max = jdbc.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /** Makes Hibernate's next pooled block (allocationSize 100) start after {@code lastId}. */
+    private void primeIdGenerator(String sequence, long lastId) {
+        jdbc.update("delete from id_generator where sequence_name = ?", sequence);
+        jdbc.update("insert into id_generator (sequence_name, next_val) values (?, ?)", sequence, lastId + 100);
+    }
+}
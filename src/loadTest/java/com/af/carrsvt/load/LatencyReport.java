@@ -0,0 +1,109 @@
+package com.af.carrsvt.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-operation latency histograms plus status-class counters. Latencies are kept in
+ * microseconds at three significant digits, so p999 is exact to 0.1%.
+ */
+class LatencyReport {
+
+    private static final long MAX_MICROS = 60_000_000L;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private static final class Operation {
+        final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+    }
+
+    record Row(String operation, long count, double throughput, double p50, double p99, double p999,
+               double max, long clientErrors, long serverErrors) {
+    }
+
+    void record(String operation, long nanos, int status) {
+        Operation op = operations.computeIfAbsent(operation, k -> new Operation());
+        op.latency.recordValue(Math.min(MAX_MICROS, Math.max(1, nanos / 1_000)));
+        if (status >= 500 || status < 0) {
+            op.serverErrors.increment();
+        } else if (status >= 400) {
+            op.clientErrors.increment();
+        }
+    }
+
+    List<Row> rows(double seconds) {
+        List<Row> rows = new ArrayList<>();
+        new TreeMap<>(operations).forEach((name, op) -> rows.add(new Row(name, op.latency.getTotalCount(),
+            op.latency.getTotalCount() / seconds, millis(op.latency.getValueAtPercentile(50)),
+            millis(op.latency.getValueAtPercentile(99)), millis(op.latency.getValueAtPercentile(99.9)),
+            millis(op.latency.getMaxValue()), op.clientErrors.sum(), op.serverErrors.sum())));
+        return rows;
+    }
+
+    String table(List<Row> rows) {
+        StringBuilder out = new StringBuilder(String.format("%-22s %9s %9s %9s %9s %9s %9s %6s %6s%n",
+            "operation", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "4xx", "5xx"));
+        for (Row r : rows) {
+            out.append(String.format("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %6d %6d%n", r.operation(), r.count(),
+                r.throughput(), r.p50(), r.p99(), r.p999(), r.max(), r.clientErrors(), r.serverErrors()));
+        }
+        return out.toString();
+    }
+
+    void write(Path dir, List<Row> rows) throws IOException {
+        Files.createDirectories(dir);
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < rows.size(); i++) {
+            Row r = rows.get(i);
+            json.append(String.format(Locale.ROOT,
+                "  {\"operation\":\"%s\",\"count\":%d,\"throughput\":%.2f,\"p50\":%.3f,\"p99\":%.3f,\"p999\":%.3f,"
+                    + "\"max\":%.3f,\"clientErrors\":%d,\"serverErrors\":%d}%s%n",
+                r.operation(), r.count(), r.throughput(), r.p50(), r.p99(), r.p999(), r.max(), r.clientErrors(),
+                r.serverErrors(), i + 1 < rows.size() ? "," : ""));
+        }
+        Files.writeString(dir.resolve("latency.json"), json.append("]\n"));
+        Files.writeString(dir.resolve("latency.txt"), table(rows));
+    }
+
+    /**
+     * Budget keys are {@code <operation>.p50|p99|p999} in milliseconds; any server error is
+     * always a violation.
+     */
+    List<String> violations(List<Row> rows, Properties budgets) {
+        List<String> violations = new ArrayList<>();
+        for (Row r : rows) {
+            check(violations, r.operation(), "p50", r.p50(), budgets);
+            check(violations, r.operation(), "p99", r.p99(), budgets);
+            check(violations, r.operation(), "p999", r.p999(), budgets);
+            if (r.serverErrors() > 0) {
+                violations.add(r.operation() + ": " + r.serverErrors() + " server errors");
+            }
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String operation, String percentile, double actual, Properties budgets) {
+        String budget = budgets.getProperty(operation + "." + percentile);
+        if (budget != null && actual > Double.parseDouble(budget)) {
+            violations.add(String.format("%s: %s %.2f ms exceeds budget %s ms", operation, percentile, actual, budget));
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
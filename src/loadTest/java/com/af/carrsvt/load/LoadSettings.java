@@ -0,0 +1,20 @@
+package com.af.carrsvt.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/** Load-test knobs, read from {@code -Dloadtest.*} system properties. */
+record LoadSettings(int customers, int vehicles, long reservations, int concurrency,
+                    Duration warmup, Duration duration, Path reportDir) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+            Integer.getInteger("loadtest.customers", 1_000),
+            Integer.getInteger("loadtest.vehicles", 1_000),
+            Long.getLong("loadtest.reservations", 10_000L),
+            Integer.getInteger("loadtest.concurrency", 32),
+            Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+            Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+            Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+    }
+}
@@ -0,0 +1,279 @@
+package com.af.carrsvt.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.af.carrsvt.integration.ContainerConfiguration;
+import com.af.carrsvt.service.FleetIndex;
+import com.af.carrsvt.service.VehicleAvailabilityIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Boots the application on Testcontainers MySQL, seeds it, then runs a closed-loop traffic
+ * mix (signup, vehicle search, reservation create/update, payment, feedback) from
+ * {@code loadtest.concurrency} virtual threads. Latencies after warm-up are reported per
+ * operation and checked against {@code latency-budgets.properties}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "reactive.server.port=0"
+})
+@Import(ContainerConfiguration.class)
+class ReservationLoadTest {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final int RECENT_SLOTS = 4096;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    @Autowired
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final AtomicLong signups = new AtomicLong();
+    private final AtomicReferenceArray<long[]> recentReservations = new AtomicReferenceArray<>(RECENT_SLOTS);
+    private final AtomicLong reservationCursor = new AtomicLong();
+
+    private DataSeeder.SeedRanges seed;
+    private String bearer;
+    private OffsetDateTime horizon;
+
+    @Test
+    void trafficMix_shouldStayWithinLatencyBudgets() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        long seedStart = System.nanoTime();
+        seed = new DataSeeder(jdbcTemplate).seed(settings, passwordEncoder.encode(DataSeeder.PASSWORD));
+        fleetIndex.warmUp();
+        availabilityIndex.warmUp();
+        System.out.printf("Seeded %d customers, %d vehicles, %d reservations in %d s%n", settings.customers(),
+            settings.vehicles(), settings.reservations(), (System.nanoTime() - seedStart) / 1_000_000_000L);
+        System.out.printf("Request threads: %s%n", virtualThreads ? "virtual" : "platform");
+
+        bearer = "Bearer " + login("load0");
+        horizon = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        LatencyReport warmupReport = new LatencyReport();
+        LatencyReport report = new LatencyReport();
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                futures.add(workers.submit(() -> {
+                    while (true) {
+                        long now = System.nanoTime();
+                        if (now >= end) {
+                            return null;
+                        }
+                        runOne(now < warmupEnd ? warmupReport : report);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+
+        List<LatencyReport.Row> rows = report.rows(settings.duration().toMillis() / 1000.0);
+        System.out.print(report.table(rows));
+        report.write(settings.reportDir(), rows);
+
+        Properties budgets = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/latency-budgets.properties")) {
+            budgets.load(in);
+        }
+        List<String> violations = report.violations(rows, budgets);
+        assertTrue(violations.isEmpty(), "Latency budgets exceeded:\n" + String.join("\n", violations));
+    }
+
+    /** Weighted mix: reads dominate, bookings are the main write. */
+    private void runOne(LatencyReport report) throws IOException, InterruptedException {
+        int dice = ThreadLocalRandom.current().nextInt(100);
+        if (dice < 40) {
+            searchVehicles(report);
+        } else if (dice < 55) {
+            getReservation(report);
+        } else if (dice < 75) {
+            createReservation(report);
+        } else if (dice < 83) {
+            updateReservation(report);
+        } else if (dice < 93) {
+            createPayment(report);
+        } else if (dice < 98) {
+            createFeedback(report);
+        } else {
+            signup(report);
+        }
+    }
+
+    private void searchVehicles(LatencyReport report) throws IOException, InterruptedException {
+        OffsetDateTime from = randomWindowStart();
+        String type = switch (ThreadLocalRandom.current().nextInt(3)) {
+            case 0 -> "SUV";
+            case 1 -> "SEDAN";
+            default -> "VAN";
+        };
+        send(report, "vehicle.search", get("/api/vehicles/available?vehicleType=" + type + "&from=" + ISO.format(from)
+            + "&to=" + ISO.format(from.plusHours(2)) + "&limit=20"));
+    }
+
+    private void getReservation(LatencyReport report) throws IOException, InterruptedException {
+        long[] recent = recentReservation();
+        if (recent != null) {
+            send(report, "reservation.get", get("/api/reservations/" + recent[0]));
+        }
+    }
+
+    private void createReservation(LatencyReport report) throws IOException, InterruptedException {
+        long customerId = seed.firstCustomerId() + ThreadLocalRandom.current().nextInt(seed.customers());
+        long vehicleId = seed.firstVehicleId() + ThreadLocalRandom.current().nextInt(seed.vehicles());
+        HttpResponse<String> response = send(report, "reservation.create",
+            post("/api/reservations/create", reservationJson(customerId, vehicleId, randomWindowStart())));
+        if (response != null && response.statusCode() == 200) {
+            long id = objectMapper.readTree(response.body()).get("reservationId").asLong();
+            int slot = (int) (reservationCursor.getAndIncrement() % RECENT_SLOTS);
+            recentReservations.set(slot, new long[] {id, customerId, vehicleId});
+        }
+    }
+
+    private void updateReservation(LatencyReport report) throws IOException, InterruptedException {
+        long[] recent = recentReservation();
+        if (recent != null) {
+            send(report, "reservation.update", HttpRequest.newBuilder(uri("/api/reservations/" + recent[0]))
+                .header("Authorization", bearer).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(reservationJson(recent[1], recent[2], randomWindowStart()))).build());
+        }
+    }
+
+    private void createPayment(LatencyReport report) throws IOException, InterruptedException {
+        long[] recent = recentReservation();
+        if (recent != null) {
+            send(report, "payment.create", post("/api/payments/create", "{\"reservationId\":" + recent[0]
+                + ",\"paymentTime\":\"" + ISO.format(OffsetDateTime.now(ZoneOffset.UTC))
+                + "\",\"amount\":350000.00,\"paymentMethod\":\"CARD\",\"status\":\"PAID\"}"));
+        }
+    }
+
+    private void createFeedback(LatencyReport report) throws IOException, InterruptedException {
+        long[] recent = recentReservation();
+        if (recent != null) {
+            send(report, "feedback.create", post("/api/feedbacks", "{\"customerId\":" + recent[1] + ",\"reservationId\":"
+                + recent[0] + ",\"rating\":" + (1 + ThreadLocalRandom.current().nextInt(5)) + ",\"comments\":\"load test\"}"));
+        }
+    }
+
+    private void signup(LatencyReport report) throws IOException, InterruptedException {
+        long n = signups.incrementAndGet();
+        String username = "signup" + n + "-" + System.nanoTime();
+        send(report, "customer.signup", HttpRequest.newBuilder(uri("/api/customers/create"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"" + DataSeeder.PASSWORD
+                + "\",\"email\":\"" + username + "@loadtest.local\",\"status\":\"A\"}")).build());
+    }
+
+    private HttpResponse<String> send(LatencyReport report, String operation, HttpRequest request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            report.record(operation, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            // counted as a server error, which fails the budget check
+            report.record(operation, System.nanoTime() - start, -1);
+            return null;
+        }
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}"))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("accessToken").asText();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", bearer).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", bearer).header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private long[] recentReservation() {
+        long written = reservationCursor.get();
+        if (written == 0) {
+            return null;
+        }
+        return recentReservations.get((int) (ThreadLocalRandom.current().nextLong(Math.min(written, RECENT_SLOTS))));
+    }
+
+    /** Hour-aligned start within the next 90 days; collisions give realistic 409s. */
+    private OffsetDateTime randomWindowStart() {
+        return horizon.plusHours(ThreadLocalRandom.current().nextInt(24 * 90));
+    }
+
+    private static String reservationJson(long customerId, long vehicleId, OffsetDateTime pickup) {
+        return "{\"customerId\":" + customerId + ",\"vehicleId\":" + vehicleId + ",\"pickupTime\":\"" + ISO.format(pickup)
+            + "\",\"dropoffTime\":\"" + ISO.format(pickup.plusHours(2))
+            + "\",\"pickupLocation\":\"Jl. Thamrin\",\"dropoffLocation\":\"Bandara\",\"status\":\"CONFIRMED\"}";
+    }
+}
@@ -0,0 +1,165 @@
+package com.af.carrsvt.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Caps how many threads may hold a pooled connection at once. Callers beyond the cap park on
+ * a fair semaphore, which costs a virtual thread next to nothing, and give up after
+ * {@code maxWait} instead of piling into the pool's own (much longer) connection timeout.
+ * The permit is returned when the connection is closed.
+ *
+ * <p>A thread that already holds a connection gets further ones without a second permit: it
+ * is one unit of work, and Hibernate fetches table-generator id blocks on a separate
+ * connection while the caller's transaction stays open. Waiting for a permit there would
+ * deadlock once every permit belongs to such a caller, so the pool has to be larger than the
+ * bulkhead by the number of such nested connections (see {@code DataSourceConfig}).
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    // open connections per thread; only a thread's first connection takes a permit
+    private final Map<Thread, Integer> held = new ConcurrentHashMap<>();
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private volatile Timer waitTimer;
+    private volatile Counter rejected;
+
+    public BulkheadDataSource(DataSource target, int maxConcurrent, Duration maxWait) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return guard(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return guard(() -> super.getConnection(username, password));
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datasource.bulkhead.waiting", this, BulkheadDataSource::getWaitingThreads)
+            .description("Threads parked waiting for a database permit").register(registry);
+        Gauge.builder("datasource.bulkhead.available", this, BulkheadDataSource::getAvailablePermits)
+            .description("Free database permits").register(registry);
+        waitTimer = Timer.builder("datasource.bulkhead.wait")
+            .description("Time spent waiting for a database permit")
+            .publishPercentileHistogram()
+            .register(registry);
+        rejected = Counter.builder("datasource.bulkhead.rejected")
+            .description("Requests that gave up waiting for a database permit").register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            Timer timer = waitTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                Counter counter = rejected;
+                if (counter != null) {
+                    counter.increment();
+                }
+                throw new SQLTransientConnectionException("Database bulkhead full: no connection within "
+                    + Duration.ofNanos(maxWaitNanos).toMillis() + " ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private Connection guard(ConnectionSource source) throws SQLException {
+        Thread owner = Thread.currentThread();
+        boolean permit = !held.containsKey(owner);
+        if (permit) {
+            acquire();
+        }
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException ex) {
+            if (permit) {
+                permits.release();
+            }
+            throw ex;
+        }
+        held.merge(owner, 1, Integer::sum);
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            // closing may happen on another thread, so the count is keyed by the opener
+                            held.computeIfPresent(owner, (t, open) -> open == 1 ? null : open - 1);
+                            if (permit) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            });
+    }
+}
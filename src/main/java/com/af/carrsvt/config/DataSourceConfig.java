@@ -0,0 +1,70 @@
+package com.af.carrsvt.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Wraps the application's connection pool: {@link SqlSamplingDataSource} next to the pool when
+ * {@code datasource.sql-log.sample-rate} or {@code slow-threshold} is set, then
+ * {@link BulkheadDataSource} in front. The bulkhead is sized to the pool by default, so in
+ * virtual-thread mode thousands of requests can be in flight while only
+ * {@code datasource.bulkhead.max-concurrent} of them touch the database.
+ *
+ * <p>{@code datasource.bulkhead.nested-headroom} of those connections are kept out of the
+ * permits. Vehicle and reservation ids come from {@code @TableGenerator}s, and Hibernate
+ * fetches a new id block on a second connection while the inserting transaction holds its
+ * own; each generator does that for one thread at a time, so one spare connection per
+ * generator guarantees the refill never waits behind the callers it is refilling for.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceWrappingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource
+                        || bean instanceof SqlSamplingDataSource) {
+                    return bean;
+                }
+                double sampleRate = environment.getProperty("datasource.sql-log.sample-rate", Double.class, 0.0);
+                Duration slowThreshold = environment.getProperty("datasource.sql-log.slow-threshold", Duration.class);
+                if (sampleRate > 0 || slowThreshold != null) {
+                    dataSource = new SqlSamplingDataSource(dataSource, sampleRate,
+                        slowThreshold != null ? slowThreshold : Duration.ofDays(1));
+                }
+                if (environment.getProperty("datasource.bulkhead.enabled", Boolean.class, true)) {
+                    int maxConcurrent = environment.getProperty("datasource.bulkhead.max-concurrent", Integer.class, 10);
+                    int headroom = environment.getProperty("datasource.bulkhead.nested-headroom", Integer.class, 2);
+                    maxConcurrent = Math.max(1, maxConcurrent - headroom);
+                    Duration maxWait = environment.getProperty("datasource.bulkhead.max-wait", Duration.class, Duration.ofSeconds(2));
+                    dataSource = new BulkheadDataSource(dataSource, maxConcurrent, maxWait);
+                }
+                return dataSource;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(BulkheadDataSource.class)) {
+                    dataSource.unwrap(BulkheadDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Could not unwrap the database bulkhead", ex);
+            }
+        };
+    }
+}
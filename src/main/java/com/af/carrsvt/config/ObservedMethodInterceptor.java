@@ -0,0 +1,49 @@
+package com.af.carrsvt.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Wraps each call in an observation named {@code observationName}, with a contextual name such
+ * as {@code VehicleRepository.findById}. The registry's predicates decide first, so a call outside
+ * a sampled trace costs one predicate check and no allocation beyond the no-op observation.
+ */
+public class ObservedMethodInterceptor implements MethodInterceptor {
+
+    private final String observationName;
+    private final Supplier<ObservationRegistry> registry;
+    private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+    public ObservedMethodInterceptor(String observationName, Supplier<ObservationRegistry> registry) {
+        this.observationName = observationName;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Observation observation = Observation.createNotStarted(observationName, registry.get());
+        if (observation.isNoop()) {
+            return invocation.proceed();
+        }
+        String type = typeNames.computeIfAbsent(invocation.getThis().getClass(), ObservedMethodInterceptor::typeName);
+        String method = invocation.getMethod().getName();
+        return observation
+            .contextualName(type + "." + method)
+            .lowCardinalityKeyValue("class", type)
+            .lowCardinalityKeyValue("method", method)
+            .observeChecked(invocation::proceed);
+    }
+
+    /** Repository proxies and generated mapper implementations are named after their interface. */
+    private static String typeName(Class<?> type) {
+        Class<?>[] interfaces = type.getInterfaces();
+        return (interfaces.length > 0 ? interfaces[0] : type).getSimpleName();
+    }
+}
@@ -0,0 +1,51 @@
+package com.af.carrsvt.config;
+
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Sizes the Hikari pool when {@code datasource.pool.auto-size=true} and no explicit
+ * {@code spring.datasource.hikari.maximum-pool-size} is configured. The CPU bound is
+ * {@code cores * 2 + effective-spindles}; the database bound is this instance's share of
+ * {@code max_connections} after the admin reserve. The smaller wins and the pool is fixed-size
+ * (minimum-idle = maximum), so the bulkhead and the reactive scheduler follow the same number.
+ */
+public class PoolSizingEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String MAX_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    private final Log log;
+
+    public PoolSizingEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(PoolSizingEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("datasource.pool.auto-size", Boolean.class, false)
+                || environment.containsProperty(MAX_POOL_SIZE)) {
+            return;
+        }
+        int size = poolSize(Runtime.getRuntime().availableProcessors(),
+            environment.getProperty("datasource.pool.effective-spindles", Integer.class, 1),
+            environment.getProperty("datasource.pool.db-max-connections", Integer.class, 151),
+            environment.getProperty("datasource.pool.db-reserved-connections", Integer.class, 10),
+            environment.getProperty("datasource.pool.instances", Integer.class, 1));
+        environment.getPropertySources().addLast(new MapPropertySource("datasourcePoolSizing", Map.of(
+            MAX_POOL_SIZE, size,
+            "spring.datasource.hikari.minimum-idle", size)));
+        log.info("Sized connection pool to " + size + " connections");
+    }
+
+    static int poolSize(int cores, int spindles, int dbMaxConnections, int reserved, int instances) {
+        int cpuBound = cores * 2 + spindles;
+        int dbBound = (dbMaxConnections - reserved) / Math.max(1, instances);
+        return Math.max(2, Math.min(cpuBound, dbBound));
+    }
+}
@@ -0,0 +1,81 @@
+package com.af.carrsvt.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.af.carrsvt.controller.ReactiveReadHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Runs the reactive read routes on their own Reactor Netty port. The servlet container keeps
+ * serving everything else; Netty writes only as fast as each client reads, without parking a
+ * thread per slow connection.
+ */
+@Component
+@ConditionalOnProperty(name = "reactive.server.enabled", havingValue = "true")
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    @Autowired
+    private ReactiveReadHandler handler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${reactive.server.port:8081}")
+    private int port;
+
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+        server = HttpServer.create()
+            .port(port)
+            // reactor.netty.http.server.* meters on the global registry, which Boot feeds into Prometheus
+            .metrics(true, uri -> ReactiveReadHandler.PATHS.contains(uri) ? uri : "UNKNOWN")
+            .handle(new ReactorHttpHandlerAdapter(httpHandler))
+            .bindNow();
+        log.info("Reactive read API listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running != null) {
+            running.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /** Bound port, useful when {@code reactive.server.port=0}. */
+    public int getPort() {
+        return server.port();
+    }
+}
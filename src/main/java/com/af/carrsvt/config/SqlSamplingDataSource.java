@@ -0,0 +1,118 @@
+package com.af.carrsvt.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Replaces {@code show-sql} with sampled, structured statement logs. A fraction
+ * {@code sampleRate} of statements, plus every statement slower than {@code slowThreshold},
+ * is logged to {@code sql.sample} with key-value fields (kind, duration, rows, sql) that the
+ * structured console format renders as JSON. Unsampled statements cost a clock read and a random draw.
+ */
+public class SqlSamplingDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.sample");
+    private static final int MAX_SQL_LENGTH = 1_000;
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public SqlSamplingDataSource(DataSource target, double sampleRate, Duration slowThreshold) {
+        super(target);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return objectMethod(proxy, connection, method, args);
+                }
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement) {
+                    String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                    return wrapStatement(statement, method.getReturnType(), sql);
+                }
+                return result;
+            });
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, statement, method, args);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= slowThresholdNanos || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                log.atInfo()
+                    .addKeyValue("kind", elapsed >= slowThresholdNanos ? "slow" : "sample")
+                    .addKeyValue("method", method.getName())
+                    .addKeyValue("durationMs", elapsed / 1_000_000.0)
+                    .addKeyValue("rows", rows(result))
+                    .addKeyValue("sql", truncate(sql))
+                    .log("sql statement");
+            }
+            return result;
+        });
+    }
+
+    /** Proxies compare by identity so JDBC resources can be tracked in hash-based collections. */
+    private static Object objectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> target.toString();
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static Object rows(Object result) {
+        if (result instanceof int[] counts) {
+            return counts.length;
+        }
+        if (result instanceof long[] counts) {
+            return counts.length;
+        }
+        return result instanceof Number ? result : null;
+    }
+
+    private static String truncate(String sql) {
+        return sql == null || sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,115 @@
+package com.af.carrsvt.config;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.af.carrsvt.mapper.VehicleMapper;
+import com.af.carrsvt.service.MetricNames;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Fine-grained spans under the request trace: every repository call, every mapper call and
+ * JSON response serialization. HTTP server and Spring Security filter chain/authentication
+ * spans come from Boot and Spring Security themselves. The head sampler
+ * ({@code management.tracing.sampling.probability}) picks whole requests, and the fine-grained
+ * observations are only created inside a sampled trace, so unsampled requests pay one
+ * predicate check per call.
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final Set<String> SAMPLED_ONLY = Set.of(
+        MetricNames.REPOSITORY_CALLS, MetricNames.MAPPER_CALLS, MetricNames.JSON_WRITE);
+
+    @Bean
+    public ObservationPredicate sampledTraceOnlyPredicate(ObjectProvider<Tracer> tracer) {
+        Supplier<Tracer> current = SingletonSupplier.of(() -> tracer.getIfAvailable(() -> Tracer.NOOP));
+        return (name, context) -> {
+            if (!SAMPLED_ONLY.contains(name)) {
+                return true;
+            }
+            Span span = current.get().currentSpan();
+            return span != null && Boolean.TRUE.equals(span.context().sampled());
+        };
+    }
+
+    @Bean
+    public Advisor repositoryObservationAdvisor(ObjectProvider<ObservationRegistry> registry) {
+        ClassFilter repositories = type -> Repository.class.isAssignableFrom(type)
+            || AnnotatedElementUtils.hasAnnotation(type, org.springframework.stereotype.Repository.class);
+        return advisor(repositories, MetricNames.REPOSITORY_CALLS, registry);
+    }
+
+    @Bean
+    public Advisor mapperObservationAdvisor(ObjectProvider<ObservationRegistry> registry) {
+        String mapperPackage = VehicleMapper.class.getPackageName();
+        return advisor(type -> type.getPackageName().equals(mapperPackage), MetricNames.MAPPER_CALLS, registry);
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+            ObservationRegistry registry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                Observation observation = Observation.createNotStarted(MetricNames.JSON_WRITE, registry);
+                if (observation.isNoop()) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+                observation.contextualName("json write")
+                    .lowCardinalityKeyValue("type", object == null ? "null" : object.getClass().getSimpleName())
+                    .observeChecked(() -> super.writeInternal(object, type, outputMessage));
+            }
+        };
+    }
+
+    /** Finished spans are batched and logged by OpenTelemetry; swap for an OTLP exporter to ship them. */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    private static Advisor advisor(ClassFilter classFilter, String observationName,
+            ObjectProvider<ObservationRegistry> registry) {
+        // resolved on first call, so the advisor does not pull the registry into early bean creation
+        Supplier<ObservationRegistry> lazyRegistry =
+            SingletonSupplier.of(() -> registry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        MethodMatcher ownMethods = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        return new DefaultPointcutAdvisor(new ComposablePointcut(classFilter, ownMethods),
+            new ObservedMethodInterceptor(observationName, lazyRegistry));
+    }
+}
@@ -0,0 +1,35 @@
+package com.af.carrsvt.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.af.carrsvt.dto.LoginRequestDto;
+import com.af.carrsvt.dto.TokenDto;
+import com.af.carrsvt.security.CustomerUserDetails;
+import com.af.carrsvt.security.TokenService;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @PostMapping("/login")
+    public ResponseEntity<TokenDto> login(@jakarta.validation.Valid @RequestBody LoginRequestDto dto) {
+        Authentication authentication = authenticationManager.authenticate(
+            UsernamePasswordAuthenticationToken.unauthenticated(dto.getUsername(), dto.getPassword()));
+        CustomerUserDetails principal = (CustomerUserDetails) authentication.getPrincipal();
+        String token = tokenService.issue(principal.getCustomerId(), principal.getUsername());
+        return ResponseEntity.ok(new TokenDto(token, "Bearer", tokenService.ttl().toSeconds(), principal.getCustomerId()));
+    }
+}
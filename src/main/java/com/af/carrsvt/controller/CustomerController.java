@@ -1,7 +1,6 @@
 package com.af.carrsvt.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,11 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.af.carrsvt.dto.CustomerDto;
 import com.af.carrsvt.entity.Customer;
 import com.af.carrsvt.mapper.CustomerMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
 import com.af.carrsvt.service.CustomerService;
 
 @RestController
@@ -36,10 +38,14 @@ public class CustomerController {
     }
 
     @GetMapping("/get")
-    public ResponseEntity<List<CustomerDto>> getAllCustomers() {
-        List<Customer> all = customerService.getAllCustomers();
-        List<CustomerDto> dtos = all.stream().map(customerMapper::customerToCustomerDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<CustomerDto>> getAllCustomers(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<Customer> page = customerService.getCustomers(status, Keyset.of(cursor, afterId, limit, sort));
+        return PageResponses.ok(page.map(customerMapper::customerToCustomerDto), page);
     }
 
     @GetMapping("/{id}")
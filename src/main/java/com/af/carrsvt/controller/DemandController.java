@@ -0,0 +1,30 @@
+package com.af.carrsvt.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.af.carrsvt.dto.DemandDto;
+import com.af.carrsvt.service.DemandTracker;
+
+@RestController
+@RequestMapping("/api/demand")
+public class DemandController {
+    @Autowired
+    private DemandTracker demandTracker;
+
+    /** Live demand over the last {@code demand.window}, busiest first; entries without coordinates are type-wide totals. */
+    @GetMapping
+    public ResponseEntity<List<DemandDto>> getDemand(@RequestParam(required = false) String vehicleType) {
+        return ResponseEntity.ok(demandTracker.snapshot(vehicleType).stream()
+            .map(d -> new DemandDto(d.vehicleType(), d.latitude(), d.longitude(), d.requests(), d.searches(),
+                d.vehiclesOffered(), d.surgeMultiplier()))
+            .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.af.carrsvt.controller;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.af.carrsvt.dto.DispatchDto;
+import com.af.carrsvt.dto.NearbyVehicleDto;
+import com.af.carrsvt.dto.PositionDto;
+import com.af.carrsvt.service.DispatchService;
+import com.af.carrsvt.service.DispatchService.Dispatch;
+import com.af.carrsvt.service.VehicleLocationIndex.Nearby;
+
+@RestController
+@RequestMapping("/api/dispatch")
+public class DispatchController {
+    @Autowired
+    private DispatchService dispatchService;
+
+    @PutMapping("/vehicles/{vehicleId}/position")
+    public ResponseEntity<Void> updatePosition(@PathVariable Long vehicleId, @jakarta.validation.Valid @RequestBody PositionDto position) {
+        dispatchService.updatePosition(vehicleId, position.getLatitude(), position.getLongitude());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyVehicleDto>> findNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(required = false) String vehicleType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) Integer k) {
+        List<Nearby> nearby = dispatchService.findNearest(latitude, longitude, vehicleType, from, to, k);
+        return ResponseEntity.ok(toDtos(nearby));
+    }
+
+    @PostMapping("/reservations/{reservationId}")
+    public ResponseEntity<DispatchDto> dispatch(
+            @PathVariable Long reservationId,
+            @RequestParam(required = false) String vehicleType,
+            @RequestParam(required = false) Integer k) {
+        Dispatch dispatch = dispatchService.dispatch(reservationId, vehicleType, k);
+        return ResponseEntity.ok(new DispatchDto(dispatch.reservation().getReservationId(), dispatch.vehicle().getVehicleId(),
+            dispatch.vehicle().getDriverId(), dispatch.distanceKm(), toDtos(dispatch.candidates())));
+    }
+
+    private static List<NearbyVehicleDto> toDtos(List<Nearby> nearby) {
+        return nearby.stream().map(n -> new NearbyVehicleDto(n.vehicleId(), n.distanceKm())).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,137 @@
+package com.af.carrsvt.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.springframework.http.MediaType;
+
+import com.af.carrsvt.service.ExportSink;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Row-at-a-time encoders for the bulk export endpoints. Writers buffer internally and
+ * never flush per row; the servlet container sees a steady stream of large chunks.
+ */
+enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    static ExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    <T> RowWriter<T> open(OutputStream out, ObjectMapper objectMapper, Class<T> type, List<Column<T>> columns) throws IOException {
+        return this == NDJSON ? new NdjsonWriter<>(out, objectMapper, type) : new CsvWriter<>(out, columns);
+    }
+
+    interface RowWriter<T> extends ExportSink<T>, AutoCloseable {
+        @Override
+        void close() throws IOException;
+    }
+
+    record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    static <T> Column<T> column(String name, Function<T, Object> value) {
+        return new Column<>(name, value);
+    }
+
+    private static final class NdjsonWriter<T> implements RowWriter<T> {
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper, Class<T> type) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+            this.writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void accept(T row) throws IOException {
+            writer.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter<T> implements RowWriter<T> {
+        private final Writer out;
+        private final List<Column<T>> columns;
+
+        CsvWriter(OutputStream out, List<Column<T>> columns) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.columns = columns;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    this.out.write(',');
+                }
+                this.out.write(columns.get(i).name());
+            }
+            this.out.write('\n');
+        }
+
+        @Override
+        public void accept(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value instanceof BigDecimal decimal) {
+                    out.write(decimal.toPlainString());
+                } else if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            out.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            // flush only: the servlet container owns the response stream
+            out.flush();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.af.carrsvt.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,11 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.af.carrsvt.dto.FeedbackDto;
 import com.af.carrsvt.entity.Feedback;
 import com.af.carrsvt.mapper.FeedbackMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
 import com.af.carrsvt.service.FeedbackService;
 
 @RestController
@@ -36,10 +38,16 @@ public class FeedbackController {
     }
 
     @GetMapping("/get")
-    public ResponseEntity<List<FeedbackDto>> getAllFeedbacks() {
-        List<Feedback> list = feedbackService.getAllFeedbacks();
-        List<FeedbackDto> dtos = list.stream().map(feedbackMapper::feedbackToFeedbackDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<FeedbackDto>> getAllFeedbacks(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long reservationId,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<Feedback> page = feedbackService.getFeedbacks(customerId, reservationId, rating, Keyset.of(cursor, afterId, limit, sort));
+        return PageResponses.ok(page.map(feedbackMapper::feedbackToFeedbackDto), page);
     }
     
     @GetMapping("/{id}")
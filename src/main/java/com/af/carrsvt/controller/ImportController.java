@@ -0,0 +1,68 @@
+package com.af.carrsvt.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.af.carrsvt.dto.ImportJobDto;
+import com.af.carrsvt.service.ImportFormat;
+import com.af.carrsvt.service.ImportJob;
+import com.af.carrsvt.service.ImportService;
+import com.af.carrsvt.service.ImportTarget;
+
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+    @Autowired
+    private ImportService importService;
+
+    /**
+     * Starts an import of {@code vehicles}, {@code drivers} or {@code customers}. The multipart
+     * upload is spooled to disk by the container; the response is returned as soon as the job is queued.
+     */
+    @PostMapping("/{target}")
+    public ResponseEntity<ImportJobDto> startImport(
+            @PathVariable String target,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        ImportTarget importTarget = ImportTarget.from(target);
+        ImportFormat importFormat = ImportFormat.from(format != null ? format : extension(file.getOriginalFilename()));
+        Path spool = Files.createTempFile("import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+        try {
+            file.transferTo(spool);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+        ImportJob job = importService.submit(importTarget, importFormat, spool);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/imports/" + job.getJobId()))
+            .body(job.snapshot());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDto> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(importService.getJob(jobId).snapshot());
+    }
+
+    private static String extension(String filename) {
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("format is required when the file name has no extension");
+        }
+        String extension = filename.substring(dot + 1);
+        return "jsonl".equalsIgnoreCase(extension) ? "ndjson" : extension;
+    }
+}
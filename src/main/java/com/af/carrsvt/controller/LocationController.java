@@ -0,0 +1,48 @@
+package com.af.carrsvt.controller;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.af.carrsvt.dto.BatchDto;
+import com.af.carrsvt.dto.LocationPingDto;
+import com.af.carrsvt.dto.PingBatchResultDto;
+import com.af.carrsvt.service.DriverLocationService;
+import com.af.carrsvt.service.DriverLocationService.IngestResult;
+import com.af.carrsvt.service.LocationPing;
+
+@RestController
+@RequestMapping("/api/locations")
+public class LocationController {
+    @Autowired
+    private DriverLocationService locationService;
+
+    @PostMapping("/pings")
+    public ResponseEntity<PingBatchResultDto> ingest(@jakarta.validation.Valid @RequestBody BatchDto<LocationPingDto> batch) {
+        long now = System.currentTimeMillis();
+        List<LocationPing> pings = batch.getItems().stream()
+            .map(p -> new LocationPing(p.getDriverId(), p.getLatitude(), p.getLongitude(),
+                p.getRecordedAt() == null ? now : p.getRecordedAt().toInstant().toEpochMilli()))
+            .collect(Collectors.toList());
+        IngestResult result = locationService.ingest(pings);
+        return ResponseEntity.accepted().body(new PingBatchResultDto(result.accepted(), result.coalesced(), result.dropped(), result.rejected()));
+    }
+
+    @GetMapping("/drivers/{driverId}")
+    public ResponseEntity<LocationPingDto> getLatest(@PathVariable Long driverId) {
+        LocationPing ping = locationService.getLatest(driverId);
+        return ResponseEntity.ok(new LocationPingDto(ping.driverId(), ping.latitude(), ping.longitude(),
+            OffsetDateTime.ofInstant(Instant.ofEpochMilli(ping.recordedAt()), ZoneOffset.UTC)));
+    }
+}
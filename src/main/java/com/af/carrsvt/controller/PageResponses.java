@@ -0,0 +1,23 @@
+package com.af.carrsvt.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.af.carrsvt.service.KeysetPage;
+
+final class PageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(List<T> body, KeysetPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(body);
+    }
+}
@@ -1,9 +1,11 @@
 package com.af.carrsvt.controller;
 
+import java.security.Principal;
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,37 +13,95 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.af.carrsvt.dto.PaymentDto;
 import com.af.carrsvt.entity.Payment;
 import com.af.carrsvt.mapper.PaymentMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
 import com.af.carrsvt.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/payments")
 public class PaymentController {
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final List<ExportFormat.Column<PaymentDto>> EXPORT_COLUMNS = List.of(
+        ExportFormat.column("paymentId", PaymentDto::getPaymentId),
+        ExportFormat.column("reservationId", PaymentDto::getReservationId),
+        ExportFormat.column("paymentTime", PaymentDto::getPaymentTime),
+        ExportFormat.column("amount", PaymentDto::getAmount),
+        ExportFormat.column("paymentMethod", PaymentDto::getPaymentMethod),
+        ExportFormat.column("status", PaymentDto::getStatus));
+
     @Autowired
     private PaymentService paymentService;
 
     @Autowired
     private PaymentMapper paymentMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * With an {@code Idempotency-Key} header, retries of the same request return the payment the
+     * first one created (marked {@code Idempotent-Replayed: true}) instead of charging again.
+     */
     @PostMapping("/create")
-    public ResponseEntity<PaymentDto> createPayment(@jakarta.validation.Valid @RequestBody PaymentDto paymentDto) {
+    public ResponseEntity<PaymentDto> createPayment(@jakarta.validation.Valid @RequestBody PaymentDto paymentDto,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal) {
         Payment entity = paymentMapper.paymentDtoToPayment(paymentDto);
-        Payment saved = paymentService.savePayment(entity);
-        return ResponseEntity.ok(paymentMapper.paymentToPaymentDto(saved));
+        if (idempotencyKey == null) {
+            Payment saved = paymentService.savePayment(entity);
+            return ResponseEntity.ok(paymentMapper.paymentToPaymentDto(saved));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY + " must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        PaymentService.CreateResult result = paymentService.savePayment(entity,
+            principal == null ? "" : principal.getName(), idempotencyKey);
+        return ResponseEntity.ok()
+            .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+            .body(paymentMapper.paymentToPaymentDto(result.payment()));
     }
 
     @GetMapping("/get")
-    public ResponseEntity<List<PaymentDto>> getAllPayments() {
-        List<Payment> list = paymentService.getAllPayments();
-        List<PaymentDto> dtos = list.stream().map(paymentMapper::paymentToPaymentDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<PaymentDto>> getAllPayments(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long reservationId,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime paidFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime paidTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<PaymentDto> page = paymentService.getPayments(status, reservationId, paymentMethod, paidFrom, paidTo, Keyset.of(cursor, afterId, limit, sort));
+        return PageResponses.ok(page.getItems(), page);
     }
     
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "0") Long afterId) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> {
+            try (ExportFormat.RowWriter<PaymentDto> writer = exportFormat.open(out, objectMapper, PaymentDto.class, EXPORT_COLUMNS)) {
+                paymentService.exportPayments(afterId, row -> writer.accept(paymentMapper.paymentToPaymentDto(row)));
+            }
+        };
+        return ResponseEntity.ok().contentType(exportFormat.mediaType()).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PaymentDto> getPaymentById(@PathVariable Long id) {
         Payment p = paymentService.getPaymentById(id);
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,6 +19,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.af.carrsvt.dto.PaymentMethodDto;
 import com.af.carrsvt.entity.PaymentMethod;
 import com.af.carrsvt.mapper.PaymentMethodMapper;
+import com.af.carrsvt.security.CustomerUserDetails;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
 import com.af.carrsvt.service.PaymentMethodService;
 
 @RestController
@@ -37,10 +41,21 @@ public class PaymentMethodController {
     }
 
     @GetMapping("/get")
-    public ResponseEntity<List<PaymentMethodDto>> getAllPaymentMethods(@RequestParam(required = false) Long customerId) {
-        List<PaymentMethod> list = (customerId == null) ? paymentMethodService.getAllPaymentMethods() : paymentMethodService.getByCustomerId(customerId);
-        List<PaymentMethodDto> dtos = list.stream().map(paymentMethodMapper::paymentMethodToPaymentMethodDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<PaymentMethodDto>> getAllPaymentMethods(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) String methodType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<PaymentMethod> page = paymentMethodService.getPaymentMethods(customerId, methodType, Keyset.of(cursor, afterId, limit, sort));
+        return PageResponses.ok(page.map(paymentMethodMapper::paymentMethodToPaymentMethodDto), page);
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<List<PaymentMethodDto>> getMine(@AuthenticationPrincipal CustomerUserDetails principal) {
+        List<PaymentMethod> methods = paymentMethodService.getByCustomerId(principal.getCustomerId());
+        return ResponseEntity.ok(methods.stream().map(paymentMethodMapper::paymentMethodToPaymentMethodDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,41 @@
+package com.af.carrsvt.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.af.carrsvt.dto.BatchDto;
+import com.af.carrsvt.dto.RateCardDto;
+import com.af.carrsvt.entity.RateCard;
+import com.af.carrsvt.mapper.RateCardMapper;
+import com.af.carrsvt.service.PricingService;
+
+@RestController
+@RequestMapping("/api/rate-cards")
+public class RateCardController {
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private RateCardMapper rateCardMapper;
+
+    @GetMapping
+    public ResponseEntity<List<RateCardDto>> getRateCards() {
+        return ResponseEntity.ok(pricingService.getRateCards().stream().map(rateCardMapper::rateCardToRateCardDto).collect(Collectors.toList()));
+    }
+
+    /** Replaces every rate card at once. */
+    @PutMapping
+    public ResponseEntity<List<RateCardDto>> replaceRateCards(@jakarta.validation.Valid @RequestBody BatchDto<RateCardDto> batch) {
+        List<RateCard> cards = batch.getItems().stream().map(rateCardMapper::rateCardDtoToRateCard).collect(Collectors.toList());
+        List<RateCard> saved = pricingService.replaceRateCards(cards);
+        return ResponseEntity.ok(saved.stream().map(rateCardMapper::rateCardToRateCardDto).collect(Collectors.toList()));
+    }
+}
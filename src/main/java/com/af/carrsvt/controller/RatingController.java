@@ -0,0 +1,36 @@
+package com.af.carrsvt.controller;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.af.carrsvt.dto.RatingDto;
+import com.af.carrsvt.entity.RatingRollup;
+import com.af.carrsvt.service.RatingService;
+import com.af.carrsvt.service.RatingSubject;
+
+@RestController
+@RequestMapping("/api/ratings")
+public class RatingController {
+    @Autowired
+    private RatingService ratingService;
+
+    /** Rating totals of a vehicle, driver or customer ({@code vehicles}, {@code drivers}, {@code customers}). */
+    @GetMapping("/{subject}/{id}")
+    public ResponseEntity<RatingDto> getRating(@PathVariable String subject, @PathVariable Long id) {
+        RatingSubject ratingSubject = RatingSubject.from(subject);
+        RatingRollup r = ratingService.getRating(ratingSubject, id);
+        BigDecimal average = r.getRatingCount() == 0 ? null
+            : BigDecimal.valueOf(r.getRatingSum()).divide(BigDecimal.valueOf(r.getRatingCount()), 2, RoundingMode.HALF_UP);
+        return ResponseEntity.ok(new RatingDto(ratingSubject.name().toLowerCase(Locale.ROOT), id, r.getRatingCount(), r.getRatingSum(), average,
+            List.of(r.getRating1(), r.getRating2(), r.getRating3(), r.getRating4(), r.getRating5())));
+    }
+}
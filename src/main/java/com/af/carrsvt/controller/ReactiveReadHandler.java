@@ -0,0 +1,148 @@
+package com.af.carrsvt.controller;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.mapper.VehicleMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.ReactiveReadService;
+import com.af.carrsvt.security.TokenService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Functional WebFlux routes for the read endpoints, streamed as NDJSON with backpressure.
+ * Served by the Netty server in {@code ReactiveReadServer} next to the servlet API, so only
+ * bearer tokens from {@code POST /api/auth/login} are accepted. {@code reactive.routes} picks
+ * which of {@code reservations}, {@code vehicles} and {@code availability} are exposed.
+ */
+@Component
+public class ReactiveReadHandler {
+
+    public static final String RESERVATIONS_PATH = "/api/reactive/reservations";
+    public static final String VEHICLES_PATH = "/api/reactive/vehicles";
+    public static final String AVAILABILITY_PATH = "/api/reactive/vehicles/available";
+    /** Every route path, used to keep the {@code uri} metric tag bounded. */
+    public static final Set<String> PATHS = Set.of(RESERVATIONS_PATH, VEHICLES_PATH, AVAILABILITY_PATH);
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private ReactiveReadService readService;
+
+    @Autowired
+    private VehicleMapper vehicleMapper;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${reactive.routes:reservations,vehicles,availability}")
+    private Set<String> enabledRoutes;
+
+    public RouterFunction<ServerResponse> routes() {
+        RouterFunctions.Builder routes = RouterFunctions.route();
+        if (enabledRoutes.contains("reservations")) {
+            routes.GET(RESERVATIONS_PATH, this::reservations);
+        }
+        if (enabledRoutes.contains("availability")) {
+            routes.GET(AVAILABILITY_PATH, this::availableVehicles);
+        }
+        if (enabledRoutes.contains("vehicles")) {
+            routes.GET(VEHICLES_PATH, this::vehicles);
+        }
+        return routes
+            .filter((request, next) -> authenticated(request)
+                ? next.handle(request)
+                : error(HttpStatus.UNAUTHORIZED, "Unauthorized", "Bearer token required"))
+            .onError(IllegalArgumentException.class, (ex, request) -> error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage()))
+            .build();
+    }
+
+    Mono<ServerResponse> reservations(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(readService.streamReservations(
+            request.queryParam("status").orElse(null),
+            longParam(request, "customerId"),
+            longParam(request, "vehicleId"),
+            timeParam(request, "pickupFrom"),
+            timeParam(request, "pickupTo"),
+            longParam(request, "afterId"),
+            request.queryParam("sort").orElse(null)), ReservationDto.class);
+    }
+
+    Mono<ServerResponse> vehicles(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(readService.streamVehicles(
+            request.queryParam("vehicleType").orElse(null),
+            request.queryParam("status").orElse(null),
+            longParam(request, "driverId"),
+            longParam(request, "afterId"),
+            request.queryParam("sort").orElse(null)), VehicleDto.class);
+    }
+
+    Mono<ServerResponse> availableVehicles(ServerRequest request) {
+        OffsetDateTime from = timeParam(request, "from");
+        OffsetDateTime to = timeParam(request, "to");
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        Long limit = longParam(request, "limit");
+        int size = (int) Math.min(limit == null ? Keyset.DEFAULT_LIMIT : limit, Keyset.MAX_LIMIT);
+        if (size < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(readService.findAvailableVehicles(
+            request.queryParam("vehicleType").orElse(null),
+            request.queryParam("status").orElse("AVAILABLE"),
+            from, to, size).map(vehicleMapper::vehicleToVehicleDto), VehicleDto.class);
+    }
+
+    private boolean authenticated(ServerRequest request) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        return header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())
+            && tokenService.verify(header.substring(BEARER.length()).trim()) != null;
+    }
+
+    private static Long longParam(ServerRequest request, String name) {
+        Optional<String> value = request.queryParam(name);
+        try {
+            return value.map(Long::valueOf).orElse(null);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value.get());
+        }
+    }
+
+    private static OffsetDateTime timeParam(ServerRequest request, String name) {
+        Optional<String> value = request.queryParam(name);
+        try {
+            return value.map(OffsetDateTime::parse).orElse(null);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value.get());
+        }
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String error, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", error);
+        body.put("message", message);
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
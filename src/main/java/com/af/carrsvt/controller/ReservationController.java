@@ -1,9 +1,12 @@
 package com.af.carrsvt.controller;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,22 +15,47 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.af.carrsvt.dto.BatchDto;
+import com.af.carrsvt.dto.QuoteDto;
 import com.af.carrsvt.dto.ReservationDto;
 import com.af.carrsvt.entity.Reservation;
 import com.af.carrsvt.mapper.ReservationMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
+import com.af.carrsvt.service.PricingService;
+import com.af.carrsvt.service.RateTable;
 import com.af.carrsvt.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/reservations")
 public class ReservationController {
+    private static final List<ExportFormat.Column<ReservationDto>> EXPORT_COLUMNS = List.of(
+        ExportFormat.column("reservationId", ReservationDto::getReservationId),
+        ExportFormat.column("customerId", ReservationDto::getCustomerId),
+        ExportFormat.column("vehicleId", ReservationDto::getVehicleId),
+        ExportFormat.column("pickupTime", ReservationDto::getPickupTime),
+        ExportFormat.column("dropoffTime", ReservationDto::getDropoffTime),
+        ExportFormat.column("pickupLocation", ReservationDto::getPickupLocation),
+        ExportFormat.column("dropoffLocation", ReservationDto::getDropoffLocation),
+        ExportFormat.column("status", ReservationDto::getStatus));
+
     @Autowired
     private ReservationService reservationService;
 
     @Autowired
     private ReservationMapper reservationMapper;
 
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/create")
     public ResponseEntity<ReservationDto> createReservation(@jakarta.validation.Valid @RequestBody ReservationDto reservationDto) {
         Reservation entity = reservationMapper.reservationDtoToReservation(reservationDto);
@@ -35,13 +63,59 @@ public class ReservationController {
         return ResponseEntity.ok(reservationMapper.reservationToReservationDto(saved));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ReservationDto>> createReservations(@jakarta.validation.Valid @RequestBody BatchDto<ReservationDto> batch) {
+        List<Reservation> entities = batch.getItems().stream().map(reservationMapper::reservationDtoToReservation).collect(Collectors.toList());
+        List<Reservation> saved = reservationService.saveReservations(entities);
+        return ResponseEntity.ok(saved.stream().map(reservationMapper::reservationToReservationDto).collect(Collectors.toList()));
+    }
+
     @GetMapping("/get")
-    public ResponseEntity<List<ReservationDto>> getAllReservations() {
-        List<Reservation> list = reservationService.getAllReservations();
-        List<ReservationDto> dtos = list.stream().map(reservationMapper::reservationToReservationDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<ReservationDto>> getAllReservations(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime pickupFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime pickupTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<ReservationDto> page = reservationService.getReservations(status, customerId, vehicleId, pickupFrom, pickupTo, Keyset.of(cursor, afterId, limit, sort));
+        return PageResponses.ok(page.getItems(), page);
     }
     
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "0") Long afterId) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> {
+            try (ExportFormat.RowWriter<ReservationDto> writer = exportFormat.open(out, objectMapper, ReservationDto.class, EXPORT_COLUMNS)) {
+                reservationService.exportReservations(afterId, row -> writer.accept(reservationMapper.reservationToReservationDto(row)));
+            }
+        };
+        return ResponseEntity.ok().contentType(exportFormat.mediaType()).body(body);
+    }
+
+    /** Price of a trip from the current rate cards and demand; cheap enough to call on every change in the booking form. */
+    @GetMapping("/quote")
+    public ResponseEntity<QuoteDto> quote(
+            @RequestParam String vehicleType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime pickupTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime dropoffTime,
+            @RequestParam(defaultValue = "0") double distanceKm,
+            @RequestParam(required = false) Double pickupLatitude,
+            @RequestParam(required = false) Double pickupLongitude) {
+        RateTable.Quote quote = pricingService.quote(vehicleType, pickupTime, dropoffTime, distanceKm, pickupLatitude, pickupLongitude);
+        return ResponseEntity.ok(new QuoteDto(vehicleType, pickupTime, dropoffTime, distanceKm,
+            BigDecimal.valueOf(quote.baseFare(), RateTable.SCALE),
+            BigDecimal.valueOf(quote.distanceFare(), RateTable.SCALE),
+            BigDecimal.valueOf(quote.timeFare(), RateTable.SCALE),
+            BigDecimal.valueOf(quote.total(), RateTable.SCALE),
+            BigDecimal.valueOf(quote.surgeBasisPoints(), 4)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ReservationDto> getReservationById(@PathVariable Long id) {
         Reservation r = reservationService.getReservationById(id);
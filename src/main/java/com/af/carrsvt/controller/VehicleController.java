@@ -1,9 +1,11 @@
 package com.af.carrsvt.controller;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.af.carrsvt.dto.BatchDto;
 import com.af.carrsvt.dto.VehicleDto;
 import com.af.carrsvt.entity.Vehicle;
 import com.af.carrsvt.mapper.VehicleMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
 import com.af.carrsvt.service.VehicleService;
 
 @RestController
@@ -35,13 +41,41 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleMapper.vehicleToVehicleDto(saved));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<VehicleDto>> createVehicles(@jakarta.validation.Valid @RequestBody BatchDto<VehicleDto> batch) {
+        List<Vehicle> entities = batch.getItems().stream().map(vehicleMapper::vehicleDtoToVehicle).collect(Collectors.toList());
+        List<Vehicle> saved = vehicleService.saveVehicles(entities);
+        return ResponseEntity.ok(saved.stream().map(vehicleMapper::vehicleToVehicleDto).collect(Collectors.toList()));
+    }
+
     @GetMapping("/get")
-    public ResponseEntity<List<VehicleDto>> getAllVehicles() {
-        List<Vehicle> list = vehicleService.getAllVehicles();
-        List<VehicleDto> dtos = list.stream().map(vehicleMapper::vehicleToVehicleDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<VehicleDto>> getAllVehicles(
+            @RequestParam(required = false) String vehicleType,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long driverId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort) {
+        KeysetPage<VehicleDto> page = vehicleService.getVehicles(vehicleType, status, driverId, Keyset.of(cursor, afterId, limit, sort));
+        return PageResponses.ok(page.getItems(), page);
     }
     
+    @GetMapping("/available")
+    public ResponseEntity<List<VehicleDto>> findAvailableVehicles(
+            @RequestParam(required = false) String vehicleType,
+            @RequestParam(defaultValue = "AVAILABLE") String status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        int size = Math.min(limit == null ? Keyset.DEFAULT_LIMIT : limit, Keyset.MAX_LIMIT);
+        if (size < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        List<Vehicle> vehicles = vehicleService.findAvailableVehicles(vehicleType, status, from, to, size);
+        return ResponseEntity.ok(vehicles.stream().map(vehicleMapper::vehicleToVehicleDto).collect(Collectors.toList()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VehicleDto> getVehicleById(@PathVariable Long id) {
         Vehicle v = vehicleService.getVehicleById(id);
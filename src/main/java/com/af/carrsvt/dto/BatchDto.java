@@ -0,0 +1,20 @@
+package com.af.carrsvt.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BatchDto<T> {
+    public static final int MAX_ITEMS = 10_000;
+
+    @NotEmpty
+    @Size(max = MAX_ITEMS)
+    @Valid
+    private List<T> items;
+}
@@ -0,0 +1,20 @@
+package com.af.carrsvt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandDto {
+    private String vehicleType;
+    private Double latitude;
+    private Double longitude;
+    private Long requests;
+    private Long searches;
+    private Long vehiclesOffered;
+    private Double surgeMultiplier;
+}
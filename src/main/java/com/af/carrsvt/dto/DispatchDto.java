@@ -0,0 +1,21 @@
+package com.af.carrsvt.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchDto {
+    private Long reservationId;
+    private Long vehicleId;
+    private Long driverId;
+    private Double distanceKm;
+    /** Every vehicle that was considered, nearest first; the assigned one is the first that could be booked. */
+    private List<NearbyVehicleDto> candidates;
+}
@@ -0,0 +1,25 @@
+package com.af.carrsvt.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ImportJobDto {
+    private String jobId;
+    private String target;
+    private String format;
+    private String state;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private String failure;
+    // first import.max-errors row errors, ordered by line
+    private List<ImportRowErrorDto> errors;
+}
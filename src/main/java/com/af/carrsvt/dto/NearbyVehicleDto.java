@@ -0,0 +1,15 @@
+package com.af.carrsvt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyVehicleDto {
+    private Long vehicleId;
+    private Double distanceKm;
+}
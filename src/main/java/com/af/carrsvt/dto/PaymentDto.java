@@ -2,15 +2,21 @@ package com.af.carrsvt.dto;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class PaymentDto {
+    public static final List<String> LIST_COLUMNS = List.of("paymentId", "reservationId", "paymentTime",
+        "amount", "paymentMethod", "status");
+
     private Long paymentId;
 
     @NotNull
@@ -25,4 +31,15 @@ public class PaymentDto {
     @NotNull
     private String paymentMethod;
     private String status;
+
+    /** Projection constructor; parameters follow {@link #LIST_COLUMNS}. */
+    public PaymentDto(Long paymentId, Long reservationId, OffsetDateTime paymentTime, BigDecimal amount,
+                      String paymentMethod, String status) {
+        this.paymentId = paymentId;
+        this.reservationId = reservationId;
+        this.paymentTime = paymentTime;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+    }
 }
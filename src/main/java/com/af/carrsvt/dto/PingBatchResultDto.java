@@ -0,0 +1,20 @@
+package com.af.carrsvt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PingBatchResultDto {
+    private Integer accepted;
+    /** Pings older than a newer ping for the same driver; they are still written to the trail. */
+    private Integer coalesced;
+    /** Pings left out of the trail because its write queue was full. */
+    private Integer dropped;
+    /** Pings from unknown drivers; they are neither stored nor written to the trail. */
+    private Integer rejected;
+}
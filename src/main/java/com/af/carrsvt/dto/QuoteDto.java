@@ -0,0 +1,25 @@
+package com.af.carrsvt.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteDto {
+    private String vehicleType;
+    private OffsetDateTime pickupTime;
+    private OffsetDateTime dropoffTime;
+    private Double distanceKm;
+    private BigDecimal baseFare;
+    private BigDecimal distanceFare;
+    private BigDecimal timeFare;
+    private BigDecimal total;
+    private BigDecimal surgeMultiplier;
+}
@@ -0,0 +1,51 @@
+package com.af.carrsvt.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateCardDto {
+    private Long rateCardId;
+
+    @NotBlank
+    private String vehicleType;
+
+    /** ISO day of week, 1 = Monday; omit for every day. */
+    @Min(1)
+    @Max(7)
+    private Integer dayOfWeek;
+
+    @NotNull
+    @Min(0)
+    @Max(23)
+    private Integer startHour;
+
+    @NotNull
+    @Min(1)
+    @Max(24)
+    private Integer endHour;
+
+    @NotNull
+    @DecimalMin("0")
+    private BigDecimal baseFare;
+
+    @NotNull
+    @DecimalMin("0")
+    private BigDecimal perKm;
+
+    @NotNull
+    @DecimalMin("0")
+    private BigDecimal perHour;
+}
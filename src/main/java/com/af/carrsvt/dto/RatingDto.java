@@ -0,0 +1,23 @@
+package com.af.carrsvt.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingDto {
+    private String subject;
+    private Long subjectId;
+    private Long count;
+    private Long sum;
+    private BigDecimal average;
+    /** Number of ratings of 1 to 5, in that order. */
+    private List<Long> histogram;
+}
@@ -1,14 +1,23 @@
 package com.af.carrsvt.dto;
 
 import java.time.OffsetDateTime;
+import java.util.List;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ReservationDto {
+    public static final List<String> LIST_COLUMNS = List.of("reservationId", "customerId", "vehicleId",
+        "pickupTime", "dropoffTime", "pickupLocation", "dropoffLocation", "status", "pickupLatitude", "pickupLongitude");
+
     private Long reservationId;
 
     @NotNull
@@ -20,6 +29,8 @@ public class ReservationDto {
     @NotNull
     private OffsetDateTime pickupTime;
 
+    private OffsetDateTime dropoffTime;
+
     @NotBlank
     private String pickupLocation;
 
@@ -27,4 +38,28 @@ public class ReservationDto {
     private String dropoffLocation;
 
     private String status;
+
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    private Double pickupLatitude;
+
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    private Double pickupLongitude;
+
+    /** Projection constructor; parameters follow {@link #LIST_COLUMNS}. */
+    public ReservationDto(Long reservationId, Long customerId, Long vehicleId, OffsetDateTime pickupTime,
+                          OffsetDateTime dropoffTime, String pickupLocation, String dropoffLocation, String status,
+                          Double pickupLatitude, Double pickupLongitude) {
+        this.reservationId = reservationId;
+        this.customerId = customerId;
+        this.vehicleId = vehicleId;
+        this.pickupTime = pickupTime;
+        this.dropoffTime = dropoffTime;
+        this.pickupLocation = pickupLocation;
+        this.dropoffLocation = dropoffLocation;
+        this.status = status;
+        this.pickupLatitude = pickupLatitude;
+        this.pickupLongitude = pickupLongitude;
+    }
 }
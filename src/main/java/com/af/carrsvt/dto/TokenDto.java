@@ -0,0 +1,17 @@
+package com.af.carrsvt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenDto {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+    private Long customerId;
+}
@@ -1,11 +1,18 @@
 package com.af.carrsvt.dto;
+
+import java.util.List;
+
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class VehicleDto {
+    public static final List<String> LIST_COLUMNS = List.of("vehicleId", "driverId", "vehicleType", "licensePlate", "status");
+
     private Long vehicleId;
     private Long driverId;
 
@@ -15,4 +22,13 @@ public class VehicleDto {
     @NotBlank
     private String licensePlate;
     private String status;
+
+    /** Projection constructor; parameters follow {@link #LIST_COLUMNS}. */
+    public VehicleDto(Long vehicleId, Long driverId, String vehicleType, String licensePlate, String status) {
+        this.vehicleId = vehicleId;
+        this.driverId = driverId;
+        this.vehicleType = vehicleType;
+        this.licensePlate = licensePlate;
+        this.status = status;
+    }
 }
@@ -0,0 +1,37 @@
+package com.af.carrsvt.entity;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Trail of reported driver positions. Rows are appended by {@code LocationTrailWriter} in JDBC
+ * batches rather than through JPA; the entity only defines the table.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Table(name = "driver_location", indexes = @Index(name = "idx_driver_location_driver_time", columnList = "driver_id, recorded_at"))
+public class DriverLocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long locationId;
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+    private double latitude;
+    private double longitude;
+    @Column(name = "recorded_at", nullable = false)
+    private OffsetDateTime recordedAt;
+}
@@ -2,6 +2,7 @@ package com.af.carrsvt.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -23,18 +24,25 @@ public class Feedback {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long feedbackId;
-    @Column(name = "customer_id", insertable = false, updatable = false)
+    @Column(name = "customer_id")
     private Long customerId;
-    @Column(name = "reservation_id", insertable = false, updatable = false)
+    @Column(name = "reservation_id")
     private Long reservationId;
+    // vehicle and driver the rating counts for, fixed when the feedback is written
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+    @Column(name = "driver_id")
+    private Long driverId;
     private Integer rating;
     private String comments;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "customer_id", insertable = false, updatable = false)
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "reservation_id", insertable = false, updatable = false)
     private Reservation reservation;    
 
@@ -5,11 +5,14 @@ import java.time.OffsetDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -22,20 +25,28 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
+@Table(indexes = @Index(name = "uk_payment_idempotency_key", columnList = "idempotency_key", unique = true))
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long paymentId;
-    @Column(name = "reservation_id", insertable = false, updatable = false)
+    @Column(name = "reservation_id")
     private Long reservationId;
     private OffsetDateTime paymentTime;
     private BigDecimal amount;
     private String paymentMethod;
     private String status;
 
-    @ManyToOne
+    // SHA-256 of the caller and its Idempotency-Key header, and of the request fields; null for keyless creates
+    @Column(name = "idempotency_key", length = 64)
+    @ToString.Exclude
+    private String idempotencyKey;
+    @Column(name = "request_hash", length = 64)
+    @ToString.Exclude
+    private String requestHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "reservation_id", insertable = false, updatable = false)
     private Reservation reservation;
-    
-    
 }
@@ -0,0 +1,47 @@
+package com.af.carrsvt.entity;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A payment waiting for the processor. Written in the same transaction as the payment and
+ * deleted once the processor has decided it; {@code availableAt} is both the retry time and the
+ * lease a worker takes when it claims the row, so rows held by a crashed worker come back.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Table(name = "payment_outbox", indexes = {
+    @Index(name = "idx_payment_outbox_available", columnList = "available_at, outbox_id"),
+    @Index(name = "idx_payment_outbox_payment", columnList = "payment_id")
+})
+public class PaymentOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+    private OffsetDateTime createdAt;
+    @Column(name = "available_at", nullable = false)
+    private OffsetDateTime availableAt;
+    private int attempts;
+
+    public PaymentOutbox(Long paymentId, OffsetDateTime now) {
+        this.paymentId = paymentId;
+        this.createdAt = now;
+        this.availableAt = now;
+    }
+}
@@ -0,0 +1,40 @@
+package com.af.carrsvt.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Price of a vehicle type for pickups in {@code [startHour, endHour)} local time, on one ISO
+ * day of week (1 = Monday) or on every day when {@code dayOfWeek} is null.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "rate_card")
+public class RateCard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rateCardId;
+    @Column(nullable = false)
+    private String vehicleType;
+    private Integer dayOfWeek;
+    private int startHour;
+    private int endHour;
+    private BigDecimal baseFare;
+    private BigDecimal perKm;
+    private BigDecimal perHour;
+}
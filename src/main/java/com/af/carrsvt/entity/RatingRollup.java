@@ -0,0 +1,47 @@
+package com.af.carrsvt.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Running totals of the feedback ratings of one vehicle, driver or customer. Rows are only
+ * changed by the increments in {@code RatingRollupRepository}, never loaded and saved back.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Table(name = "rating_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_rating_rollup_subject", columnNames = {"subject_type", "subject_id"}))
+public class RatingRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+    @Column(name = "subject_type", nullable = false, length = 16)
+    private String subjectType;
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+}
@@ -4,11 +4,15 @@ import java.time.OffsetDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@Table(indexes = @Index(name = "idx_reservation_vehicle_pickup", columnList = "vehicle_id, pickup_time"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,22 +28,30 @@ import lombok.ToString;
 @ToString
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled table ids: Hibernate reserves blocks of 100, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reservation_ids")
+    @TableGenerator(name = "reservation_ids", table = "id_generator", pkColumnName = "sequence_name",
+        valueColumnName = "next_val", pkColumnValue = "reservation", allocationSize = 100)
     private Long reservationId;
-    @Column(name = "customer_id", insertable = false, updatable = false)
+    @Column(name = "customer_id")
     private Long customerId;
-    @Column(name = "vehicle_id", insertable = false, updatable = false)
+    @Column(name = "vehicle_id")
     private Long vehicleId;
     private OffsetDateTime pickupTime;
+    private OffsetDateTime dropoffTime;
     private String pickupLocation;
     private String dropoffLocation;
     private String status;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "customer_id", insertable = false, updatable = false)
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "vehicle_id", insertable = false, updatable = false)
     private Vehicle vehicle;
     
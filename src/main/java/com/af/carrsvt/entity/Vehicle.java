@@ -2,11 +2,13 @@ package com.af.carrsvt.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,15 +23,19 @@ import lombok.ToString;
 @ToString
 public class Vehicle {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled table ids: Hibernate reserves blocks of 100, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "vehicle_ids")
+    @TableGenerator(name = "vehicle_ids", table = "id_generator", pkColumnName = "sequence_name",
+        valueColumnName = "next_val", pkColumnValue = "vehicle", allocationSize = 100)
     private Long vehicleId;
-    @Column(name = "driver_id", insertable = false, updatable = false)
+    @Column(name = "driver_id")
     private Long driverId;
     private String vehicleType;
     private String licensePlate;
     private String status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "driver_id", insertable = false, updatable = false)
     private Driver driver;
     
@@ -0,0 +1,8 @@
+package com.af.carrsvt.exception;
+
+/** The original request for this Idempotency-Key is still running. */
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
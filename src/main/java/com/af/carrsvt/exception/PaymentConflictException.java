@@ -0,0 +1,7 @@
+package com.af.carrsvt.exception;
+
+public class PaymentConflictException extends RuntimeException {
+    public PaymentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.af.carrsvt.exception;
+
+public class ReservationConflictException extends RuntimeException {
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.af.carrsvt.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.af.carrsvt.dto.RateCardDto;
+import com.af.carrsvt.entity.RateCard;
+
+@Mapper(
+    componentModel = "spring"
+)
+public interface RateCardMapper {
+    RateCardDto rateCardToRateCardDto(RateCard rateCard);
+    RateCard rateCardDtoToRateCard(RateCardDto rateCardDto);
+}
@@ -1,7 +1,13 @@
 package com.af.carrsvt.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import com.af.carrsvt.entity.Driver;
 
-public interface DriverRepository extends JpaRepository<Driver, Long> {
+public interface DriverRepository extends JpaRepository<Driver, Long>, JpaSpecificationExecutor<Driver> {
+    @Query("select d.driverId from Driver d")
+    List<Long> findAllIds();
 }
@@ -1,7 +1,32 @@
 package com.af.carrsvt.repository;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.af.carrsvt.entity.Feedback;
 
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+import jakarta.persistence.LockModeType;
+
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, JpaSpecificationExecutor<Feedback> {
+    // updates and deletes read the old rating under this lock, so two of them cannot both take it off the rollups
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Feedback f where f.feedbackId = :feedbackId")
+    Optional<Feedback> lockById(@Param("feedbackId") Long feedbackId);
+
+    @Query("select new com.af.carrsvt.repository.FeedbackSubjects(r.vehicleId, v.driverId) from Reservation r "
+        + "left join Vehicle v on v.vehicleId = r.vehicleId where r.reservationId = :reservationId")
+    Optional<FeedbackSubjects> findSubjects(@Param("reservationId") Long reservationId);
+
+    // feedback written before vehicle_id/driver_id were recorded
+    @Modifying
+    @Query(value = "update feedback f join reservation r on r.reservation_id = f.reservation_id "
+        + "left join vehicle v on v.vehicle_id = r.vehicle_id set f.vehicle_id = r.vehicle_id, f.driver_id = v.driver_id "
+        + "where f.vehicle_id is null and r.vehicle_id is not null", nativeQuery = true)
+    int attributeUnattributed();
 }
@@ -0,0 +1,5 @@
+package com.af.carrsvt.repository;
+
+/** Vehicle booked by a reservation and the driver currently assigned to it. */
+public record FeedbackSubjects(Long vehicleId, Long driverId) {
+}
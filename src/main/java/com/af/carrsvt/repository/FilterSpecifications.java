@@ -0,0 +1,25 @@
+package com.af.carrsvt.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Null-tolerant filter predicates: a {@code null} value yields no predicate, so
+ * optional request parameters can be chained without branching.
+ */
+public final class FilterSpecifications {
+
+    private FilterSpecifications() {
+    }
+
+    public static <T> Specification<T> equalTo(String attribute, Object value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(root.get(attribute), value);
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> atLeast(String attribute, Y value) {
+        return (root, query, cb) -> value == null ? null : cb.greaterThanOrEqualTo(root.<Y>get(attribute), value);
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> before(String attribute, Y value) {
+        return (root, query, cb) -> value == null ? null : cb.lessThan(root.<Y>get(attribute), value);
+    }
+}
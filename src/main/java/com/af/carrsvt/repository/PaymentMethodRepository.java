@@ -3,8 +3,9 @@ package com.af.carrsvt.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import com.af.carrsvt.entity.PaymentMethod;
 
-public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, Long> {
+public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, Long>, JpaSpecificationExecutor<PaymentMethod> {
     List<PaymentMethod> findByCustomerId(Long customerId);
 }
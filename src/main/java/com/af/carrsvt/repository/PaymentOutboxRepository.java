@@ -0,0 +1,40 @@
+package com.af.carrsvt.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.af.carrsvt.entity.PaymentOutbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+    // FOR UPDATE SKIP LOCKED: concurrent workers (and nodes) each take a disjoint batch instead of queueing on the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "" + LockOptions.SKIP_LOCKED))
+    @Query("select o from PaymentOutbox o where o.availableAt <= :now order by o.availableAt, o.outboxId")
+    List<PaymentOutbox> findDueForUpdate(@Param("now") OffsetDateTime now, Limit limit);
+
+    // a locked row is skipped by findDueForUpdate, so no worker can claim it while a payment edit runs
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from PaymentOutbox o where o.paymentId = :paymentId")
+    Optional<PaymentOutbox> lockByPaymentId(@Param("paymentId") Long paymentId);
+
+    @Modifying
+    @Query("update PaymentOutbox o set o.attempts = o.attempts + 1, o.availableAt = :availableAt where o.outboxId in :ids")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("availableAt") OffsetDateTime availableAt);
+
+    @Query("select new com.af.carrsvt.repository.OutboxBacklog(count(o), min(o.createdAt)) from PaymentOutbox o")
+    OutboxBacklog backlog();
+}
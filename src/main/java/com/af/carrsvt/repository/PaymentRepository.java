@@ -1,7 +1,41 @@
 package com.af.carrsvt.repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import com.af.carrsvt.entity.Payment;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.paymentId = :paymentId")
+    Optional<Payment> lockById(@Param("paymentId") Long paymentId);
+
+    // MySQL Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE
+    // (any other value buffers the whole result set in the driver), and a streaming result
+    // set blocks every other statement on the connection, so callers must not touch the lazy
+    // associations while the stream is open.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Payment p where p.paymentId > :afterId order by p.paymentId")
+    Stream<Payment> streamAfter(@Param("afterId") Long afterId);
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("update Payment p set p.status = :status where p.paymentId in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
 }
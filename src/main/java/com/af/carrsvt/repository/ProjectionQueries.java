@@ -0,0 +1,53 @@
+package com.af.carrsvt.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Runs a specification as a constructor-expression query: only the listed columns are
+ * selected and each row becomes a DTO directly, with no managed entity, dirty-checking
+ * snapshot or association load behind it.
+ */
+@Repository
+public class ProjectionQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@code attributes} must follow the parameter order of one of the DTO's constructors. Declare
+     * that constructor explicitly rather than relying on a generated all-args one, whose order
+     * silently changes with the field order.
+     */
+    @Transactional(readOnly = true)
+    public <T, D> List<D> findAll(Class<T> entityType, Class<D> dtoType, List<String> attributes,
+                                  Specification<T> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoType);
+        Root<T> root = query.from(entityType);
+        Selection<?>[] columns = new Selection<?>[attributes.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = root.get(attributes.get(i));
+        }
+        query.select(cb.construct(dtoType, columns));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
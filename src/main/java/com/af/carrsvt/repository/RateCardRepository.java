@@ -0,0 +1,8 @@
+package com.af.carrsvt.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.af.carrsvt.entity.RateCard;
+
+public interface RateCardRepository extends JpaRepository<RateCard, Long> {
+}
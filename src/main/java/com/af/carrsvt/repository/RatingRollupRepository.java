@@ -0,0 +1,34 @@
+package com.af.carrsvt.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.af.carrsvt.entity.RatingRollup;
+
+public interface RatingRollupRepository extends JpaRepository<RatingRollup, Long> {
+    Optional<RatingRollup> findBySubjectTypeAndSubjectId(String subjectType, Long subjectId);
+
+    // a single upsert, so concurrent feedback on one subject adds up under the row lock instead of racing a read-modify-write
+    @Modifying
+    @Query(value = "insert into rating_rollup (subject_type, subject_id, rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) "
+        + "values (:subjectType, :subjectId, :delta, :delta * :rating, if(:rating = 1, :delta, 0), if(:rating = 2, :delta, 0), "
+        + "if(:rating = 3, :delta, 0), if(:rating = 4, :delta, 0), if(:rating = 5, :delta, 0)) "
+        + "on duplicate key update rating_count = rating_count + :delta, rating_sum = rating_sum + :delta * :rating, "
+        + "rating_1 = rating_1 + if(:rating = 1, :delta, 0), rating_2 = rating_2 + if(:rating = 2, :delta, 0), "
+        + "rating_3 = rating_3 + if(:rating = 3, :delta, 0), rating_4 = rating_4 + if(:rating = 4, :delta, 0), "
+        + "rating_5 = rating_5 + if(:rating = 5, :delta, 0)", nativeQuery = true)
+    int increment(@Param("subjectType") String subjectType, @Param("subjectId") Long subjectId, @Param("rating") int rating, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "insert into rating_rollup (subject_type, subject_id, rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) "
+        + "select subject_type, subject_id, count(*), sum(rating), sum(rating = 1), sum(rating = 2), sum(rating = 3), sum(rating = 4), sum(rating = 5) from ("
+        + "select 'VEHICLES' subject_type, vehicle_id subject_id, rating from feedback where vehicle_id is not null "
+        + "union all select 'DRIVERS', driver_id, rating from feedback where driver_id is not null "
+        + "union all select 'CUSTOMERS', customer_id, rating from feedback where customer_id is not null) rated "
+        + "where rating between 1 and 5 group by subject_type, subject_id", nativeQuery = true)
+    int rebuildFromFeedback();
+}
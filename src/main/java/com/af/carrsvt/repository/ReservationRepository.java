@@ -1,7 +1,55 @@
 package com.af.carrsvt.repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import com.af.carrsvt.entity.Reservation;
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Reservation r where r.reservationId = :reservationId")
+    Optional<Reservation> lockById(@Param("reservationId") Long reservationId);
+
+    // MySQL Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE
+    // (any other value buffers the whole result set in the driver), and a streaming result
+    // set blocks every other statement on the connection, so callers must not touch the lazy
+    // associations while the stream is open.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Reservation r where r.reservationId > :afterId order by r.reservationId")
+    Stream<Reservation> streamAfter(@Param("afterId") Long afterId);
+
+    @Query("select case when count(r) > 0 then true else false end from Reservation r"
+        + " where r.vehicleId = :vehicleId and r.reservationId <> :excludeId"
+        + " and (r.status is null or r.status <> 'CANCELLED') and r.pickupTime < :end"
+        + " and (r.dropoffTime > :start or (r.dropoffTime is null and r.pickupTime >= :start))")
+    boolean existsOverlapping(@Param("vehicleId") Long vehicleId, @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end, @Param("excludeId") Long excludeId);
+
+    @Query("select new com.af.carrsvt.repository.ReservationWindow(r.reservationId, r.vehicleId, r.pickupTime, r.dropoffTime)"
+        + " from Reservation r where r.vehicleId is not null and r.pickupTime is not null"
+        + " and (r.status is null or r.status <> 'CANCELLED')"
+        + " and (r.dropoffTime > :since or (r.dropoffTime is null and r.pickupTime >= :since))")
+    List<ReservationWindow> findActiveWindows(@Param("since") OffsetDateTime since);
+
+    @Query("select new com.af.carrsvt.repository.ReservationWindow(r.reservationId, r.vehicleId, r.pickupTime, r.dropoffTime)"
+        + " from Reservation r where r.vehicleId in :vehicleIds and (r.status is null or r.status <> 'CANCELLED')"
+        + " and r.pickupTime < :end and (r.dropoffTime > :start or (r.dropoffTime is null and r.pickupTime >= :start))")
+    List<ReservationWindow> findWindowsOverlapping(@Param("vehicleIds") Collection<Long> vehicleIds,
+            @Param("start") OffsetDateTime start, @Param("end") OffsetDateTime end);
 }
@@ -0,0 +1,6 @@
+package com.af.carrsvt.repository;
+
+import java.time.OffsetDateTime;
+
+public record ReservationWindow(Long reservationId, Long vehicleId, OffsetDateTime pickupTime, OffsetDateTime dropoffTime) {
+}
@@ -0,0 +1,4 @@
+package com.af.carrsvt.repository;
+
+public record VehicleFacet(Long vehicleId, Long driverId, String vehicleType, String status) {
+}
@@ -1,7 +1,27 @@
 package com.af.carrsvt.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.af.carrsvt.entity.Vehicle;
 
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+import jakarta.persistence.LockModeType;
+
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vehicle v where v.vehicleId = :vehicleId")
+    Optional<Vehicle> lockById(@Param("vehicleId") Long vehicleId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vehicle v where v.vehicleId in :vehicleIds order by v.vehicleId")
+    List<Vehicle> lockAllById(@Param("vehicleIds") Collection<Long> vehicleIds);
+
+    @Query("select new com.af.carrsvt.repository.VehicleFacet(v.vehicleId, v.driverId, v.vehicleType, v.status) from Vehicle v")
+    List<VehicleFacet> findAllFacets();
 }
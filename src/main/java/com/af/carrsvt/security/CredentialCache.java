@@ -0,0 +1,69 @@
+package com.af.carrsvt.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Recently verified credentials, so a client repeating the same HTTP Basic header skips the
+ * user lookup and the BCrypt check. Entries are keyed by username and hold an HMAC of the
+ * presented password under a key generated at startup; the password itself is never kept.
+ */
+@Component
+public class CredentialCache {
+
+    private record Entry(byte[] secretMac, Authentication authentication) {
+    }
+
+    private final Cache<String, Entry> entries;
+    private final SecretKeySpec macKey;
+
+    public CredentialCache(@Value("${security.credential-cache.ttl:PT5M}") Duration ttl,
+                           @Value("${security.credential-cache.max-size:10000}") long maxSize) {
+        this.entries = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.macKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    /** The cached authentication when {@code secret} matches the one verified for {@code username}. */
+    public Authentication get(String username, String secret) {
+        Entry entry = entries.getIfPresent(username);
+        if (entry == null || !MessageDigest.isEqual(entry.secretMac(), mac(secret))) {
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    public void put(String username, String secret, Authentication authentication) {
+        entries.put(username, new Entry(mac(secret), authentication));
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            entries.invalidate(username);
+        }
+    }
+
+    private byte[] mac(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(macKey);
+            return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
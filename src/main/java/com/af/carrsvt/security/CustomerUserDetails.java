@@ -17,6 +17,10 @@ public class CustomerUserDetails implements UserDetails {
         this.customer = customer;
     }
 
+    public Long getCustomerId() {
+        return customer.getCustomerId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_USER"));
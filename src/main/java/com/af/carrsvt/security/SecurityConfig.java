@@ -12,15 +12,21 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
     private final CustomerUserDetailsService customerUserDetailsService;
+    private final CredentialCache credentialCache;
+    private final TokenService tokenService;
 
-    public SecurityConfig(CustomerUserDetailsService customerUserDetailsService) {
+    public SecurityConfig(CustomerUserDetailsService customerUserDetailsService, CredentialCache credentialCache,
+                          TokenService tokenService) {
         this.customerUserDetailsService = customerUserDetailsService;
+        this.credentialCache = credentialCache;
+        this.tokenService = tokenService;
     }
 
     @Bean
@@ -33,7 +39,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(customerUserDetailsService);
         authenticationProvider.setPasswordEncoder(passwordEncoder());
-        return authenticationProvider;
+        return new CachingAuthenticationProvider(authenticationProvider, credentialCache);
     }
 
     @Bean
@@ -46,11 +52,14 @@ public class SecurityConfig {
                                  "/error",
                                  "/favicon.ico",
                                  "/api/customers/create", 
+                                 "/api/auth/login",
+                                 "/actuator/health/**",
                                  "/v3/api-docs/**", 
                                  "/swagger-ui/**", 
                                  "/swagger-ui.html").permitAll()
                 .anyRequest().authenticated()
             )
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
             .httpBasic(Customizer.withDefaults());
 
         return http.build();
@@ -0,0 +1,121 @@
+package com.af.carrsvt.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 access tokens of the form
+ * {@code <customerId>.<expiresAtEpochSecond>.<base64url(username)>.<base64url(signature)>}.
+ *
+ * <p>Verification parses the token in place: the signature is checked by encoding the
+ * expected MAC into a per-thread buffer and comparing bytes, so a valid token costs one
+ * MAC computation and the username string, with no database access.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int SIGNATURE_LENGTH = 43; // 32 MAC bytes, unpadded base64url
+
+    /** Claims of a verified token. */
+    public record TokenClaims(long customerId, String username, long expiresAt) {
+    }
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    private final ThreadLocal<byte[]> signatureBuffers = ThreadLocal.withInitial(() -> new byte[SIGNATURE_LENGTH]);
+
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:PT1H}") Duration ttl) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("security.token.secret is not set; using a random key, tokens will not survive a restart");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("security.token.secret must be at least 32 bytes");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.ttl = ttl;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public String issue(long customerId, String username) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        String payload = customerId + "." + expiresAt + "." + ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8));
+        Mac mac = macs.get();
+        byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return payload + "." + ENCODER.encodeToString(signature);
+    }
+
+    /** The token's claims, or {@code null} when it is malformed, forged or expired. */
+    public TokenClaims verify(String token) {
+        int sigDot = token.lastIndexOf('.');
+        if (sigDot < 0 || token.length() - sigDot - 1 != SIGNATURE_LENGTH) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || secondDot >= sigDot) {
+            return null;
+        }
+        Mac mac = macs.get();
+        for (int i = 0; i < sigDot; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return null;
+            }
+            mac.update((byte) c);
+        }
+        byte[] expected = signatureBuffers.get();
+        ENCODER.encode(mac.doFinal(), expected);
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            diff |= expected[i] ^ token.charAt(sigDot + 1 + i);
+        }
+        if (diff != 0) {
+            return null;
+        }
+        try {
+            long customerId = Long.parseLong(token, 0, firstDot, 10);
+            long expiresAt = Long.parseLong(token, firstDot + 1, secondDot, 10);
+            if (expiresAt <= System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            String username = new String(DECODER.decode(token.substring(secondDot + 1, sigDot)), StandardCharsets.UTF_8);
+            return new TokenClaims(customerId, username, expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.af.carrsvt.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Persists lists in chunks of {@code hibernate.jdbc.batch_size}, flushing and clearing after
+ * each chunk so the inserts go out as JDBC batches and the persistence context stays small.
+ * Only entities whose ids Hibernate assigns before the insert (the pooled table generators)
+ * batch; identity ids would force one round trip per row.
+ */
+@Component
+public class BulkPersister {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    /** Persists every entity and returns them detached, with ids assigned. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> persistAll(List<T> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return entities;
+    }
+}
@@ -0,0 +1,15 @@
+package com.af.carrsvt.service;
+
+/**
+ * Names of the entity caches. Sizes and TTL are set by {@code spring.cache.caffeine.spec};
+ * every write path for one of these entities must evict its entry.
+ */
+public final class CacheNames {
+    public static final String CUSTOMERS = "customers";
+    public static final String VEHICLES = "vehicles";
+    public static final String DRIVERS = "drivers";
+    public static final String RATINGS = "ratings";
+
+    private CacheNames() {
+    }
+}
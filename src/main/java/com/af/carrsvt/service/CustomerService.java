@@ -3,15 +3,22 @@ package com.af.carrsvt.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.repository.FilterSpecifications;
 import com.af.carrsvt.repository.CustomerRepository;
+import com.af.carrsvt.security.CredentialCache;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class CustomerService {
     @Autowired
     private CustomerRepository customerRepository;
@@ -19,6 +26,9 @@ public class CustomerService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CredentialCache credentialCache;
+
     public Customer saveCustomer(Customer customer) {
         if (customer.getPassword() != null && !customer.getPassword().isBlank()) {
             customer.setPassword(passwordEncoder.encode(customer.getPassword()));
@@ -26,16 +36,22 @@ public class CustomerService {
         return customerRepository.save(customer);
     }
 
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    public KeysetPage<Customer> getCustomers(String status, Keyset keyset) {
+        Specification<Customer> spec = keyset.<Customer>seek("customerId")
+            .and(FilterSpecifications.equalTo("status", status));
+        List<Customer> rows = customerRepository.findBy(spec, q -> q.sortBy(keyset.sort("customerId")).limit(keyset.fetchSize()).all());
+        return keyset.page(rows, Customer::getCustomerId);
     }
 
+    @Cacheable(cacheNames = CacheNames.CUSTOMERS, key = "#customerId")
     public Customer getCustomerById(Long customerId) {
         return customerRepository.findById(customerId).orElseThrow(() -> new EntityNotFoundException("Customer not found"));
     }
 
+    @CacheEvict(cacheNames = CacheNames.CUSTOMERS, key = "#customerId")
     public Customer updateCustomer(Long customerId, Customer customerDetails) {
         Customer customer = getCustomerById(customerId);
+        String previousUsername = customer.getUsername();
         customer.setFirstName(customerDetails.getFirstName());
         customer.setLastName(customerDetails.getLastName());
         customer.setUsername(customerDetails.getUsername());
@@ -49,12 +65,16 @@ public class CustomerService {
         customer.setPaymentMethod2(customerDetails.getPaymentMethod2());
         customer.setDetailPaymentMethod1(customerDetails.getDetailPaymentMethod1());
         customer.setDetailPaymentMethod2(customerDetails.getDetailPaymentMethod2());
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        credentialCache.invalidate(previousUsername);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheNames.CUSTOMERS, key = "#customerId")
     public void deleteCustomer(Long customerId) {
         Customer customer = getCustomerById(customerId);
         customerRepository.delete(customer);
+        credentialCache.invalidate(customer.getUsername());
     }
 }
 
@@ -0,0 +1,194 @@
+package com.af.carrsvt.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Live demand per vehicle type and pickup area (a square of {@code demand.area-degrees}), kept
+ * in {@link SlidingWindowCounter}s over {@code demand.window}: reservation requests, availability
+ * searches, and the vehicles those searches offered. Every event also counts towards the type's
+ * area-independent total, which is reported by {@link #snapshot} but never used for pricing.
+ *
+ * <p>Types and areas come from clients, so the key space is bounded: events for types no
+ * vehicle in {@link FleetIndex} has are ignored, requests only count in areas that have been
+ * searched, and a search in a new area is dropped once {@code demand.max-areas} keys exist.
+ *
+ * <p>The surge multiplier compares requests per search with vehicles offered per search in the
+ * same area, which is {@code requests / offered} over the window and so does not grow with
+ * traffic: {@code 1 + step * (requests / offered - threshold)}, clamped to {@code [1, max]}.
+ * Without searches in the window there is no supply signal and the multiplier stays 1; quotes
+ * without a pickup point are not surged.
+ */
+@Component
+public class DemandTracker {
+
+    /** Live counts for one vehicle type and area; latitude and longitude are the area's centre, null for the type-wide total. */
+    public record Demand(String vehicleType, Double latitude, Double longitude, long requests, long searches,
+                         long vehiclesOffered, double surgeMultiplier) {
+    }
+
+    private static final long ANY_AREA = Long.MIN_VALUE;
+
+    private record Key(String vehicleType, long area) {
+    }
+
+    private static final class Counters {
+        final SlidingWindowCounter requests;
+        final SlidingWindowCounter searches;
+        final SlidingWindowCounter offered;
+
+        Counters(int buckets, long bucketMillis, int stripes) {
+            requests = new SlidingWindowCounter(buckets, bucketMillis, stripes);
+            searches = new SlidingWindowCounter(buckets, bucketMillis, stripes);
+            offered = new SlidingWindowCounter(buckets, bucketMillis, stripes);
+        }
+    }
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    private final Map<Key, Counters> counters = new ConcurrentHashMap<>();
+    private final int maxAreas;
+    private final int buckets;
+    private final long bucketMillis;
+    private final int stripes = Runtime.getRuntime().availableProcessors();
+    private final double areaDegrees;
+    private final double threshold;
+    private final double step;
+    private final double maxMultiplier;
+    private Clock clock = Clock.systemUTC();
+
+    public DemandTracker(@Value("${demand.window:PT15M}") Duration window,
+                         @Value("${demand.buckets:15}") int buckets,
+                         @Value("${demand.area-degrees:0.05}") double areaDegrees,
+                         @Value("${demand.surge.threshold:1.0}") double threshold,
+                         @Value("${demand.surge.step:0.25}") double step,
+                         @Value("${demand.surge.max:2.0}") double maxMultiplier,
+                         @Value("${demand.max-areas:5000}") int maxAreas) {
+        this.buckets = buckets;
+        this.maxAreas = maxAreas;
+        this.bucketMillis = Math.max(1, window.toMillis() / buckets);
+        this.areaDegrees = areaDegrees;
+        this.threshold = threshold;
+        this.step = step;
+        this.maxMultiplier = maxMultiplier;
+    }
+
+    /** Counts a reservation request; an unknown or {@code null} type is ignored, and so is the area if nobody searched it. */
+    public void recordRequest(String vehicleType, Double latitude, Double longitude) {
+        if (!fleetIndex.hasType(vehicleType)) {
+            return;
+        }
+        long now = clock.millis();
+        String type = key(vehicleType);
+        counters.computeIfAbsent(new Key(type, ANY_AREA), this::newCounters).requests.add(1, now);
+        if (latitude != null && longitude != null) {
+            // without searches the area's multiplier is 1 anyway
+            Counters local = counters.get(new Key(type, area(latitude, longitude)));
+            if (local != null) {
+                local.requests.add(1, now);
+            }
+        }
+    }
+
+    /** Counts an availability search that offered {@code vehiclesOffered} vehicles; an unknown or {@code null} type is ignored. */
+    public void recordSearch(String vehicleType, Double latitude, Double longitude, int vehiclesOffered) {
+        if (!fleetIndex.hasType(vehicleType)) {
+            return;
+        }
+        long now = clock.millis();
+        String type = key(vehicleType);
+        Counters all = counters.computeIfAbsent(new Key(type, ANY_AREA), this::newCounters);
+        all.searches.add(1, now);
+        all.offered.add(vehiclesOffered, now);
+        if (latitude != null && longitude != null) {
+            Key key = new Key(type, area(latitude, longitude));
+            Counters local = counters.get(key);
+            if (local == null && counters.size() < maxAreas) {
+                local = counters.computeIfAbsent(key, this::newCounters);
+            }
+            if (local != null) {
+                local.searches.add(1, now);
+                local.offered.add(vehiclesOffered, now);
+            }
+        }
+    }
+
+    /** Current multiplier for the type near the point; 1 without a point. */
+    public double surge(String vehicleType, Double latitude, Double longitude) {
+        if (vehicleType == null || latitude == null || longitude == null) {
+            return 1.0;
+        }
+        Counters c = counters.get(new Key(key(vehicleType), area(latitude, longitude)));
+        if (c == null) {
+            return 1.0;
+        }
+        long now = clock.millis();
+        return multiplier(c.requests.sum(now), c.searches.sum(now), c.offered.sum(now));
+    }
+
+    /** Every type and area with activity in the window, busiest first; {@code vehicleType} narrows it to one type. */
+    public List<Demand> snapshot(String vehicleType) {
+        long now = clock.millis();
+        String type = vehicleType == null ? null : key(vehicleType);
+        List<Demand> demand = new ArrayList<>();
+        counters.forEach((key, c) -> {
+            if (type != null && !type.equals(key.vehicleType())) {
+                return;
+            }
+            long requests = c.requests.sum(now);
+            long searches = c.searches.sum(now);
+            if (requests == 0 && searches == 0) {
+                return;
+            }
+            long offered = c.offered.sum(now);
+            Double latitude = key.area() == ANY_AREA ? null : ((int) (key.area() >> 32) + 0.5) * areaDegrees;
+            Double longitude = key.area() == ANY_AREA ? null : ((int) key.area() + 0.5) * areaDegrees;
+            demand.add(new Demand(key.vehicleType(), latitude, longitude, requests, searches, offered, multiplier(requests, searches, offered)));
+        });
+        demand.sort(Comparator.comparingLong(Demand::requests).reversed());
+        return demand;
+    }
+
+    /** Drops types and areas that have been quiet for a whole window. */
+    @Scheduled(fixedDelayString = "${demand.window:PT15M}")
+    public void evictIdle() {
+        long now = clock.millis();
+        counters.values().removeIf(c -> c.requests.sum(now) == 0 && c.searches.sum(now) == 0);
+    }
+
+    private double multiplier(long requests, long searches, long offered) {
+        if (searches == 0) {
+            return 1.0;
+        }
+        // requests per search against vehicles offered per search; the search counts cancel out
+        double surge = 1.0 + step * ((double) requests / Math.max(1, offered) - threshold);
+        // two decimals, so quotes don't shift with every single event
+        return Math.floor(Math.min(maxMultiplier, Math.max(1.0, surge)) * 100) / 100;
+    }
+
+    private Counters newCounters(Key key) {
+        return new Counters(buckets, bucketMillis, stripes);
+    }
+
+    private long area(double latitude, double longitude) {
+        long lat = (long) Math.floor(latitude / areaDegrees);
+        long lon = (long) Math.floor(longitude / areaDegrees);
+        return (lat << 32) | (lon & 0xffffffffL);
+    }
+
+    private static String key(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,140 @@
+package com.af.carrsvt.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.exception.ReservationConflictException;
+import com.af.carrsvt.service.VehicleLocationIndex.Nearby;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Matches reservations to the nearest free vehicle. Candidates come from
+ * {@link VehicleLocationIndex}, filtered in place by {@link FleetIndex} (type, {@code AVAILABLE})
+ * and {@link VehicleAvailabilityIndex} (no overlapping booking), so the search reads no rows.
+ * Each candidate is then tried through {@link ReservationService#assignVehicle}, whose stripe
+ * lock and overlap guard make the claim atomic; a candidate taken in the meantime is skipped.
+ */
+@Service
+@Timed(MetricNames.SERVICE_CALLS)
+public class DispatchService {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    static final int MAX_CANDIDATES = 100;
+
+    /** The reservation as booked, the assigned vehicle and every candidate considered, nearest first. */
+    public record Dispatch(Reservation reservation, Vehicle vehicle, double distanceKm, List<Nearby> candidates) {
+    }
+
+    @Autowired
+    private VehicleLocationIndex locationIndex;
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    @Autowired
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private DemandTracker demandTracker;
+
+    @Value("${dispatch.max-radius-km:25}")
+    private double maxRadiusKm;
+
+    @Value("${dispatch.candidates:5}")
+    private int defaultCandidates;
+
+    @Value("${reservation.default-duration:PT2H}")
+    private Duration defaultDuration;
+
+    public void updatePosition(Long vehicleId, double latitude, double longitude) {
+        if (!fleetIndex.matches(vehicleId, null, null)) {
+            throw new EntityNotFoundException("Vehicle not found");
+        }
+        locationIndex.update(vehicleId, latitude, longitude);
+    }
+
+    /**
+     * Nearest {@code AVAILABLE} vehicles of the type (any if {@code null}). With a time window,
+     * vehicles booked during {@code [from, to)} are skipped.
+     */
+    public List<Nearby> findNearest(double latitude, double longitude, String vehicleType, OffsetDateTime from, OffsetDateTime to, Integer k) {
+        VehicleLocationIndex.checkCoordinates(latitude, longitude);
+        if ((from == null) != (to == null)) {
+            throw new IllegalArgumentException("from and to must be given together");
+        }
+        List<Nearby> nearest;
+        if (from == null) {
+            nearest = locationIndex.nearest(latitude, longitude, candidates(k), maxRadiusKm,
+                id -> fleetIndex.matches(id, vehicleType, AVAILABLE));
+        } else {
+            if (!to.isAfter(from)) {
+                throw new IllegalArgumentException("to must be after from");
+            }
+            nearest = nearestFree(latitude, longitude, vehicleType, from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli(), null, candidates(k));
+        }
+        demandTracker.recordSearch(vehicleType, latitude, longitude, nearest.size());
+        return nearest;
+    }
+
+    /**
+     * Assigns the reservation to the nearest vehicle that is free for its whole window. The
+     * vehicle type defaults to that of the currently assigned vehicle.
+     */
+    public Dispatch dispatch(Long reservationId, String vehicleType, Integer k) {
+        Reservation reservation = reservationService.getReservationById(reservationId);
+        if (reservation.getPickupLatitude() == null || reservation.getPickupLongitude() == null) {
+            throw new IllegalArgumentException("Reservation " + reservationId + " has no pickup coordinates");
+        }
+        if (reservation.getPickupTime() == null) {
+            throw new IllegalArgumentException("Reservation " + reservationId + " has no pickup time");
+        }
+        VehicleLocationIndex.checkCoordinates(reservation.getPickupLatitude(), reservation.getPickupLongitude());
+        String type = vehicleType;
+        if (type == null && reservation.getVehicleId() != null) {
+            type = vehicleService.getVehicleById(reservation.getVehicleId()).getVehicleType();
+        }
+        OffsetDateTime dropoff = reservation.getDropoffTime() != null
+            ? reservation.getDropoffTime()
+            : reservation.getPickupTime().plus(defaultDuration);
+        List<Nearby> candidates = nearestFree(reservation.getPickupLatitude(), reservation.getPickupLongitude(), type,
+            reservation.getPickupTime().toInstant().toEpochMilli(), dropoff.toInstant().toEpochMilli(), reservationId, candidates(k));
+        demandTracker.recordSearch(type, reservation.getPickupLatitude(), reservation.getPickupLongitude(), candidates.size());
+        for (Nearby candidate : candidates) {
+            try {
+                Reservation booked = reservationService.assignVehicle(reservationId, candidate.vehicleId());
+                return new Dispatch(booked, vehicleService.getVehicleById(candidate.vehicleId()), candidate.distanceKm(), candidates);
+            } catch (ReservationConflictException ex) {
+                // booked by someone else since the search; try the next one
+            }
+        }
+        throw new ReservationConflictException("No free vehicle within " + maxRadiusKm + " km of reservation " + reservationId);
+    }
+
+    private List<Nearby> nearestFree(double latitude, double longitude, String vehicleType, long from, long to, Long ignoreReservationId, int k) {
+        return locationIndex.nearest(latitude, longitude, k, maxRadiusKm,
+            id -> fleetIndex.matches(id, vehicleType, AVAILABLE) && availabilityIndex.isFree(id, from, to, ignoreReservationId));
+    }
+
+    private int candidates(Integer k) {
+        int count = k == null ? defaultCandidates : k;
+        if (count < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        return Math.min(count, MAX_CANDIDATES);
+    }
+}
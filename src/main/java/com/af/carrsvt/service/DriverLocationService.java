@@ -0,0 +1,70 @@
+package com.af.carrsvt.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Ingests driver GPS pings. Pings from drivers {@link FleetIndex} does not know are rejected, so
+ * made-up ids cannot grow the store. The rest update the in-memory latest positions under one
+ * lock, move each driver's vehicle in {@link VehicleLocationIndex} for dispatch, and are queued
+ * for the trail table; nothing on this path touches the database.
+ */
+@Service
+@Timed(MetricNames.SERVICE_CALLS)
+public class DriverLocationService {
+
+    /** Counts for one ingested batch: pings from known drivers are accepted, some were superseded, some missed the trail. */
+    public record IngestResult(int accepted, int coalesced, int dropped, int rejected) {
+    }
+
+    @Autowired
+    private DriverLocationStore store;
+
+    @Autowired
+    private LocationTrailWriter trailWriter;
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    @Autowired
+    private VehicleLocationIndex locationIndex;
+
+    public IngestResult ingest(List<LocationPing> pings) {
+        long now = System.currentTimeMillis();
+        List<LocationPing> clamped = new ArrayList<>(pings.size());
+        for (LocationPing ping : pings) {
+            if (!fleetIndex.isKnownDriver(ping.driverId())) {
+                continue;
+            }
+            // a fast device clock would otherwise pin the driver until real time caught up
+            clamped.add(ping.recordedAt() > now ? new LocationPing(ping.driverId(), ping.latitude(), ping.longitude(), now) : ping);
+        }
+        int rejected = pings.size() - clamped.size();
+        store.reject(rejected);
+        BitSet latest = store.updateAll(clamped);
+        for (int i = latest.nextSetBit(0); i >= 0; i = latest.nextSetBit(i + 1)) {
+            LocationPing ping = clamped.get(i);
+            Long vehicleId = fleetIndex.vehicleOfDriver(ping.driverId());
+            if (vehicleId != null) {
+                locationIndex.update(vehicleId, ping.latitude(), ping.longitude());
+            }
+        }
+        int dropped = trailWriter.offerAll(clamped);
+        return new IngestResult(clamped.size(), clamped.size() - latest.cardinality(), dropped, rejected);
+    }
+
+    public LocationPing getLatest(Long driverId) {
+        LocationPing latest = store.latest(driverId);
+        if (latest == null) {
+            throw new EntityNotFoundException("No position for driver " + driverId);
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,174 @@
+package com.af.carrsvt.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Latest position per driver in parallel primitive arrays, found through an open-addressing
+ * table of driver ids, so a ping overwrites three fields in place and allocates nothing.
+ * A ping older than the stored one is ignored; within a batch only each driver's newest ping
+ * counts as applied, the rest are counted as coalesced. Pings from unknown drivers never get
+ * here; {@link #reject} only counts them.
+ */
+@Component
+public class DriverLocationStore implements MeterBinder {
+
+    private final StampedLock lock = new StampedLock();
+    // open addressing over driver ids; a zero entry in slotsPlusOne marks an empty bucket
+    private long[] keys = new long[2048];
+    private int[] slotsPlusOne = new int[2048];
+    private long[] driverIds = new long[1024];
+    private double[] latitudes = new double[1024];
+    private double[] longitudes = new double[1024];
+    private long[] recordedAt = new long[1024];
+    // which batch last touched a slot and at which ping, to coalesce repeats inside one batch
+    private long[] touchedBatch = new long[1024];
+    private int[] touchedPing = new int[1024];
+    private long batchSequence;
+    private int size;
+
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("location.pings", applied, LongAdder::sum)
+            .description("Pings that became a driver's latest position")
+            .tag("result", "applied")
+            .register(registry);
+        FunctionCounter.builder("location.pings", coalesced, LongAdder::sum)
+            .description("Pings superseded by a newer ping for the same driver")
+            .tag("result", "coalesced")
+            .register(registry);
+        FunctionCounter.builder("location.pings", rejected, LongAdder::sum)
+            .description("Pings from drivers that do not exist")
+            .tag("result", "rejected")
+            .register(registry);
+        Gauge.builder("location.drivers", this, DriverLocationStore::size)
+            .description("Drivers with a known position")
+            .register(registry);
+    }
+
+    /** Stores the pings; bit {@code i} of the result is set if {@code pings.get(i)} is now its driver's latest position. */
+    public BitSet updateAll(List<LocationPing> pings) {
+        BitSet latest = new BitSet(pings.size());
+        long stamp = lock.writeLock();
+        try {
+            long batch = ++batchSequence;
+            for (int i = 0; i < pings.size(); i++) {
+                LocationPing ping = pings.get(i);
+                int slot = slotFor(ping.driverId());
+                if (slot < 0) {
+                    slot = insert(ping.driverId());
+                } else if (ping.recordedAt() < recordedAt[slot]) {
+                    continue;
+                }
+                latitudes[slot] = ping.latitude();
+                longitudes[slot] = ping.longitude();
+                recordedAt[slot] = ping.recordedAt();
+                if (touchedBatch[slot] == batch) {
+                    latest.clear(touchedPing[slot]);
+                }
+                touchedBatch[slot] = batch;
+                touchedPing[slot] = i;
+                latest.set(i);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        int count = latest.cardinality();
+        applied.add(count);
+        coalesced.add(pings.size() - count);
+        return latest;
+    }
+
+    /** Counts pings turned away before {@link #updateAll}. */
+    public void reject(int count) {
+        rejected.add(count);
+    }
+
+    /** The driver's latest ping, or {@code null} if none has been received. */
+    public LocationPing latest(long driverId) {
+        long stamp = lock.readLock();
+        try {
+            int slot = slotFor(driverId);
+            return slot < 0 ? null : new LocationPing(driverId, latitudes[slot], longitudes[slot], recordedAt[slot]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int slotFor(long driverId) {
+        int mask = keys.length - 1;
+        for (int bucket = bucket(driverId, mask); slotsPlusOne[bucket] != 0; bucket = (bucket + 1) & mask) {
+            if (keys[bucket] == driverId) {
+                return slotsPlusOne[bucket] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int insert(long driverId) {
+        if (size == driverIds.length) {
+            int capacity = size * 2;
+            driverIds = Arrays.copyOf(driverIds, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            recordedAt = Arrays.copyOf(recordedAt, capacity);
+            touchedBatch = Arrays.copyOf(touchedBatch, capacity);
+            touchedPing = Arrays.copyOf(touchedPing, capacity);
+        }
+        // keep the table at most half full
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int slot = size++;
+        driverIds[slot] = driverId;
+        recordedAt[slot] = Long.MIN_VALUE;
+        place(driverId, slot);
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        keys = new long[capacity];
+        slotsPlusOne = new int[capacity];
+        for (int slot = 0; slot < size; slot++) {
+            place(driverIds[slot], slot);
+        }
+    }
+
+    private void place(long driverId, int slot) {
+        int mask = keys.length - 1;
+        int bucket = bucket(driverId, mask);
+        while (slotsPlusOne[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        keys[bucket] = driverId;
+        slotsPlusOne[bucket] = slot + 1;
+    }
+
+    private static int bucket(long driverId, int mask) {
+        long h = driverId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
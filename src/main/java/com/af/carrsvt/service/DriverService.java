@@ -3,30 +3,46 @@ package com.af.carrsvt.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.af.carrsvt.entity.Driver;
+import com.af.carrsvt.repository.FilterSpecifications;
 import com.af.carrsvt.repository.DriverRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class DriverService {
     @Autowired
     private DriverRepository driverRepository;
 
+    @Autowired
+    private FleetIndex fleetIndex;
+
     public Driver saveDriver(Driver driver) {
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        fleetIndex.putDriver(saved.getDriverId());
+        return saved;
     }
 
-    public List<Driver> getAllDrivers() {
-        return driverRepository.findAll();
+    public KeysetPage<Driver> getDrivers(String status, Keyset keyset) {
+        Specification<Driver> spec = keyset.<Driver>seek("driverId")
+            .and(FilterSpecifications.equalTo("status", status));
+        List<Driver> rows = driverRepository.findBy(spec, q -> q.sortBy(keyset.sort("driverId")).limit(keyset.fetchSize()).all());
+        return keyset.page(rows, Driver::getDriverId);
     }
 
+    @Cacheable(cacheNames = CacheNames.DRIVERS, key = "#driverId")
     public Driver getDriverById(Long driverId) {
         return driverRepository.findById(driverId).orElseThrow(() -> new EntityNotFoundException("Driver not found"));
     }
 
+    @CacheEvict(cacheNames = CacheNames.DRIVERS, key = "#driverId")
     public Driver updateDriver(Long driverId, Driver driverDetails) {
         Driver driver = getDriverById(driverId);
         driver.setUsername(driverDetails.getUsername());
@@ -41,8 +57,10 @@ public class DriverService {
         return driverRepository.save(driver);
     }
 
+    @CacheEvict(cacheNames = CacheNames.DRIVERS, key = "#driverId")
     public void deleteDriver(Long driverId) {
         Driver driver = getDriverById(driverId);
         driverRepository.delete(driver);
+        fleetIndex.removeDriver(driverId);
     }
 }
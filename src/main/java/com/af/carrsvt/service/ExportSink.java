@@ -0,0 +1,8 @@
+package com.af.carrsvt.service;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ExportSink<T> {
+    void accept(T row) throws IOException;
+}
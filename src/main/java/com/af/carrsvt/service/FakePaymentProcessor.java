@@ -0,0 +1,47 @@
+package com.af.carrsvt.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.af.carrsvt.entity.Payment;
+
+/**
+ * Local stand-in for a payment provider: sleeps {@code payment.processor.fake.latency} per batch,
+ * pays every amount up to {@code decline-above} and declines the rest.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.processor", havingValue = "fake", matchIfMissing = true)
+public class FakePaymentProcessor implements PaymentProcessor {
+
+    private final Duration latency;
+    private final BigDecimal declineAbove;
+
+    public FakePaymentProcessor(@Value("${payment.processor.fake.latency:PT0.05S}") Duration latency,
+                                @Value("${payment.processor.fake.decline-above:100000000}") BigDecimal declineAbove) {
+        this.latency = latency;
+        this.declineAbove = declineAbove;
+    }
+
+    @Override
+    public Map<Long, String> settle(List<Payment> payments) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        }
+        Map<Long, String> outcomes = new HashMap<>();
+        for (Payment payment : payments) {
+            boolean payable = payment.getAmount() != null && payment.getAmount().compareTo(declineAbove) <= 0;
+            outcomes.put(payment.getPaymentId(), payable ? PAID : DECLINED);
+        }
+        return outcomes;
+    }
+}
@@ -1,26 +1,52 @@
 package com.af.carrsvt.service;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.af.carrsvt.entity.Feedback;
+import com.af.carrsvt.repository.FeedbackSubjects;
+import com.af.carrsvt.repository.FilterSpecifications;
 import com.af.carrsvt.repository.FeedbackRepository;
+import com.af.carrsvt.service.RatingService.Rated;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class FeedbackService {
     @Autowired
     private FeedbackRepository feedbackRepository;
 
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public Feedback saveFeedback(Feedback feedback) {
-        return feedbackRepository.save(feedback);
+        // always a new row: saving over an existing id would bypass the rollups
+        feedback.setFeedbackId(null);
+        return transactionTemplate.execute(tx -> {
+            attribute(feedback);
+            Feedback saved = feedbackRepository.save(feedback);
+            ratingService.apply(Rated.NONE, Rated.of(saved));
+            return saved;
+        });
     }
 
-    public List<Feedback> getAllFeedbacks() {
-        return feedbackRepository.findAll();
+    public KeysetPage<Feedback> getFeedbacks(Long customerId, Long reservationId, Integer rating, Keyset keyset) {
+        Specification<Feedback> spec = keyset.<Feedback>seek("feedbackId")
+            .and(FilterSpecifications.equalTo("customerId", customerId))
+            .and(FilterSpecifications.equalTo("reservationId", reservationId))
+            .and(FilterSpecifications.equalTo("rating", rating));
+        List<Feedback> rows = feedbackRepository.findBy(spec, q -> q.sortBy(keyset.sort("feedbackId")).limit(keyset.fetchSize()).all());
+        return keyset.page(rows, Feedback::getFeedbackId);
     }
 
     public Feedback getFeedbackById(Long feedbackId) {
@@ -28,16 +54,40 @@ public class FeedbackService {
     }
 
     public Feedback updateFeedback(Long feedbackId, Feedback feedbackDetails) {
-        Feedback feedback = getFeedbackById(feedbackId);
-        feedback.setCustomerId(feedbackDetails.getCustomerId());
-        feedback.setReservationId(feedbackDetails.getReservationId());
-        feedback.setRating(feedbackDetails.getRating());
-        feedback.setComments(feedbackDetails.getComments());
-        return feedbackRepository.save(feedback);
+        return transactionTemplate.execute(tx -> {
+            Feedback feedback = lockFeedback(feedbackId);
+            Rated before = Rated.of(feedback);
+            boolean reservationChanged = !Objects.equals(feedback.getReservationId(), feedbackDetails.getReservationId());
+            feedback.setCustomerId(feedbackDetails.getCustomerId());
+            feedback.setReservationId(feedbackDetails.getReservationId());
+            feedback.setRating(feedbackDetails.getRating());
+            feedback.setComments(feedbackDetails.getComments());
+            if (reservationChanged) {
+                attribute(feedback);
+            }
+            Feedback saved = feedbackRepository.save(feedback);
+            ratingService.apply(before, Rated.of(saved));
+            return saved;
+        });
     }
 
     public void deleteFeedback(Long feedbackId) {
-        Feedback feedback = getFeedbackById(feedbackId);
-        feedbackRepository.delete(feedback);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Feedback feedback = lockFeedback(feedbackId);
+            feedbackRepository.delete(feedback);
+            ratingService.apply(Rated.of(feedback), Rated.NONE);
+        });
+    }
+
+    private Feedback lockFeedback(Long feedbackId) {
+        return feedbackRepository.lockById(feedbackId).orElseThrow(() -> new EntityNotFoundException("Feedback not found"));
+    }
+
+    /** Records the reservation's vehicle and that vehicle's current driver as the ones rated. */
+    private void attribute(Feedback feedback) {
+        FeedbackSubjects subjects = feedback.getReservationId() == null ? null
+            : feedbackRepository.findSubjects(feedback.getReservationId()).orElse(null);
+        feedback.setVehicleId(subjects == null ? null : subjects.vehicleId());
+        feedback.setDriverId(subjects == null ? null : subjects.driverId());
     }
 }
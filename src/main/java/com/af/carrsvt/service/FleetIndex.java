@@ -0,0 +1,283 @@
+package com.af.carrsvt.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.af.carrsvt.repository.DriverRepository;
+import com.af.carrsvt.repository.VehicleFacet;
+import com.af.carrsvt.repository.VehicleRepository;
+
+/**
+ * Vehicles by type and status as bitsets over dense ordinals. A search walks the set
+ * bits of the type bitset, tests the status bit, and asks
+ * {@link VehicleAvailabilityIndex} about the time window, touching no database rows.
+ *
+ * <p>Readers use an immutable snapshot. Writers serialize on a lock, copy only the
+ * bitsets they change and publish a new snapshot; ordinal arrays grow by appending
+ * past the published size, which readers never look at.
+ *
+ * <p>It also keeps the ids of all drivers, so location pings can be checked against
+ * known drivers without a query.
+ */
+@Component
+public class FleetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetIndex.class);
+    private static final long[] NONE = new long[0];
+
+    private record Snapshot(long[] vehicleIds, int size, BitSet live, Map<String, BitSet> byType, Map<String, BitSet> byStatus) {
+    }
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    private final Object writeLock = new Object();
+    // concurrent so that matches() can look up ordinals without the write lock
+    private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+    private final Map<Long, Long> vehiclesByDriver = new ConcurrentHashMap<>();
+    private final Set<Long> knownDrivers = ConcurrentHashMap.newKeySet();
+    private Long[] drivers = new Long[1024];
+    private String[] types = new String[1024];
+    private String[] statuses = new String[1024];
+    private volatile Snapshot snapshot = new Snapshot(new long[1024], 0, new BitSet(), Map.of(), Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<VehicleFacet> facets = vehicleRepository.findAllFacets();
+        List<Long> driverIds = driverRepository.findAllIds();
+        knownDrivers.addAll(driverIds);
+        synchronized (writeLock) {
+            int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, facets.size())) << 1);
+            long[] ids = new long[capacity];
+            drivers = new Long[capacity];
+            types = new String[capacity];
+            statuses = new String[capacity];
+            ordinals.clear();
+            vehiclesByDriver.clear();
+            BitSet live = new BitSet(facets.size());
+            Map<String, BitSet> byType = new HashMap<>();
+            Map<String, BitSet> byStatus = new HashMap<>();
+            int ordinal = 0;
+            for (VehicleFacet facet : facets) {
+                ids[ordinal] = facet.vehicleId();
+                ordinals.put(facet.vehicleId(), ordinal);
+                drivers[ordinal] = facet.driverId();
+                if (facet.driverId() != null) {
+                    vehiclesByDriver.put(facet.driverId(), facet.vehicleId());
+                }
+                types[ordinal] = key(facet.vehicleType());
+                statuses[ordinal] = key(facet.status());
+                live.set(ordinal);
+                if (types[ordinal] != null) {
+                    byType.computeIfAbsent(types[ordinal], k -> new BitSet()).set(ordinal);
+                }
+                if (statuses[ordinal] != null) {
+                    byStatus.computeIfAbsent(statuses[ordinal], k -> new BitSet()).set(ordinal);
+                }
+                ordinal++;
+            }
+            snapshot = new Snapshot(ids, ordinal, live, byType, byStatus);
+        }
+        log.info("Fleet index warmed with {} vehicles and {} drivers", facets.size(), driverIds.size());
+    }
+
+    public void putDriver(long driverId) {
+        knownDrivers.add(driverId);
+    }
+
+    public void removeDriver(long driverId) {
+        knownDrivers.remove(driverId);
+    }
+
+    /** Whether the driver exists; drivers without a vehicle count too. */
+    public boolean isKnownDriver(long driverId) {
+        return knownDrivers.contains(driverId);
+    }
+
+    public void put(long vehicleId, Long driverId, String vehicleType, String status) {
+        String type = key(vehicleType);
+        String state = key(status);
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            long[] ids = current.vehicleIds();
+            int size = current.size();
+            BitSet live = current.live();
+            Map<String, BitSet> byType = current.byType();
+            Map<String, BitSet> byStatus = current.byStatus();
+            Integer existing = ordinals.get(vehicleId);
+            int ordinal;
+            if (existing == null) {
+                ordinal = size++;
+                if (ordinal == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                    drivers = Arrays.copyOf(drivers, ids.length);
+                    types = Arrays.copyOf(types, ids.length);
+                    statuses = Arrays.copyOf(statuses, ids.length);
+                }
+                ids[ordinal] = vehicleId;
+                ordinals.put(vehicleId, ordinal);
+                assignDriver(vehicleId, ordinal, driverId);
+                live = copyWith(live, ordinal, true);
+                byType = move(byType, null, type, ordinal);
+                byStatus = move(byStatus, null, state, ordinal);
+            } else {
+                ordinal = existing;
+                assignDriver(vehicleId, ordinal, driverId);
+                if (Objects.equals(types[ordinal], type) && Objects.equals(statuses[ordinal], state)) {
+                    return;
+                }
+                byType = move(byType, types[ordinal], type, ordinal);
+                byStatus = move(byStatus, statuses[ordinal], state, ordinal);
+            }
+            types[ordinal] = type;
+            statuses[ordinal] = state;
+            snapshot = new Snapshot(ids, size, live, byType, byStatus);
+        }
+    }
+
+    public void remove(long vehicleId) {
+        synchronized (writeLock) {
+            Integer ordinal = ordinals.remove(vehicleId);
+            if (ordinal == null) {
+                return;
+            }
+            assignDriver(vehicleId, ordinal, null);
+            Snapshot current = snapshot;
+            Map<String, BitSet> byType = move(current.byType(), types[ordinal], null, ordinal);
+            Map<String, BitSet> byStatus = move(current.byStatus(), statuses[ordinal], null, ordinal);
+            types[ordinal] = null;
+            statuses[ordinal] = null;
+            snapshot = new Snapshot(current.vehicleIds(), current.size(), copyWith(current.live(), ordinal, false), byType, byStatus);
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} vehicles matching the type and status (either may be
+     * {@code null} for "any") that have no booking overlapping {@code [from, to)}.
+     */
+    public long[] findAvailable(String vehicleType, String status, long from, long to, int limit) {
+        Snapshot s = snapshot;
+        BitSet candidates = vehicleType == null ? s.live() : s.byType().get(key(vehicleType));
+        BitSet statusBits = status == null ? null : s.byStatus().get(key(status));
+        if (candidates == null || (status != null && statusBits == null)) {
+            return NONE;
+        }
+        long[] found = new long[Math.min(limit, s.size())];
+        int n = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0 && i < s.size() && n < found.length; i = candidates.nextSetBit(i + 1)) {
+            if (statusBits != null && !statusBits.get(i)) {
+                continue;
+            }
+            long vehicleId = s.vehicleIds()[i];
+            if (availabilityIndex.isFree(vehicleId, from, to, null)) {
+                found[n++] = vehicleId;
+            }
+        }
+        return n == found.length ? found : Arrays.copyOf(found, n);
+    }
+
+    /** The vehicle the driver is assigned to, or {@code null}; the latest assignment wins if there are several. */
+    public Long vehicleOfDriver(long driverId) {
+        return vehiclesByDriver.get(driverId);
+    }
+
+    /** Whether any indexed vehicle has this type. */
+    public boolean hasType(String vehicleType) {
+        return vehicleType != null && snapshot.byType().containsKey(key(vehicleType));
+    }
+
+    /** Normalized type of the vehicle, or {@code null} if it is not indexed or has none. */
+    public String typeOf(long vehicleId) {
+        Integer ordinal = ordinals.get(vehicleId);
+        Snapshot s = snapshot;
+        if (ordinal == null || ordinal >= s.size()) {
+            return null;
+        }
+        for (Map.Entry<String, BitSet> entry : s.byType().entrySet()) {
+            if (entry.getValue().get(ordinal)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /** Whether the vehicle is indexed with the given type and status; {@code null} matches any. */
+    public boolean matches(long vehicleId, String vehicleType, String status) {
+        Integer ordinal = ordinals.get(vehicleId);
+        Snapshot s = snapshot;
+        if (ordinal == null || ordinal >= s.size() || !s.live().get(ordinal)) {
+            return false;
+        }
+        return has(s.byType(), vehicleType, ordinal) && has(s.byStatus(), status, ordinal);
+    }
+
+    // caller holds writeLock
+    private void assignDriver(long vehicleId, int ordinal, Long driverId) {
+        Long previous = drivers[ordinal];
+        if (Objects.equals(previous, driverId)) {
+            return;
+        }
+        if (previous != null) {
+            vehiclesByDriver.remove(previous, vehicleId);
+        }
+        if (driverId != null) {
+            vehiclesByDriver.put(driverId, vehicleId);
+        }
+        drivers[ordinal] = driverId;
+    }
+
+    private static boolean has(Map<String, BitSet> index, String value, int ordinal) {
+        if (value == null) {
+            return true;
+        }
+        BitSet bits = index.get(key(value));
+        return bits != null && bits.get(ordinal);
+    }
+
+    private static Map<String, BitSet> move(Map<String, BitSet> index, String from, String to, int ordinal) {
+        if (Objects.equals(from, to)) {
+            return index;
+        }
+        Map<String, BitSet> next = new HashMap<>(index);
+        if (from != null) {
+            BitSet bits = next.get(from);
+            if (bits != null) {
+                next.put(from, copyWith(bits, ordinal, false));
+            }
+        }
+        if (to != null) {
+            next.put(to, copyWith(next.getOrDefault(to, new BitSet()), ordinal, true));
+        }
+        return next;
+    }
+
+    private static BitSet copyWith(BitSet bits, int ordinal, boolean value) {
+        BitSet copy = (BitSet) bits.clone();
+        copy.set(ordinal, value);
+        return copy;
+    }
+
+    private static String key(String value) {
+        return value == null ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.af.carrsvt.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.af.carrsvt.exception.IdempotencyConflictException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory front of the idempotency-key store. A key maps to the id its first request created,
+ * or to a pending future while that request is still running, so duplicates arriving on this
+ * node wait for the original instead of writing again. The authoritative store is the unique
+ * index on the entity's key column; this cache only saves the lookup on replays within
+ * {@code payment.idempotency.window}.
+ */
+@Component
+public class IdempotencyCache {
+
+    public record Entry(String requestHash, CompletableFuture<Long> result) {
+        public static Entry pending(String requestHash) {
+            return new Entry(requestHash, new CompletableFuture<>());
+        }
+    }
+
+    private final Cache<String, Entry> entries;
+    private final Duration inFlightWait;
+
+    public IdempotencyCache(@Value("${payment.idempotency.window:PT24H}") Duration window,
+                            @Value("${payment.idempotency.max-size:100000}") long maxSize,
+                            @Value("${payment.idempotency.in-flight-wait:PT10S}") Duration inFlightWait) {
+        this.entries = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(maxSize).build();
+        this.inFlightWait = inFlightWait;
+    }
+
+    /** Registers {@code mine} for {@code key}; returns the earlier entry instead if there is one. */
+    public Entry claim(String key, Entry mine) {
+        return entries.asMap().putIfAbsent(key, mine);
+    }
+
+    /** Forgets {@code mine} after its request failed, so a retry starts over. */
+    public void release(String key, Entry mine) {
+        entries.asMap().remove(key, mine);
+    }
+
+    /** The id the original request created, waiting up to {@code in-flight-wait} if it is still running. */
+    public Long await(Entry entry) {
+        try {
+            return entry.result().get(inFlightWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted waiting for the original request");
+        }
+    }
+
+    /** Hex SHA-256 over the parts, each terminated by a NUL so that ("ab", "c") and ("a", "bc") differ. */
+    public static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
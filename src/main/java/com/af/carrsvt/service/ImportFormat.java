@@ -0,0 +1,179 @@
+package com.af.carrsvt.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Incremental readers for bulk import files. The reading thread only splits the input into
+ * records; turning a record into a DTO is left to the import workers via {@link ImportRow#read}.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported import format: " + value);
+        }
+    }
+
+    public RowReader open(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in, 64 * 1024);
+        return this == CSV ? new CsvReader(reader) : new NdjsonReader(reader);
+    }
+
+    public interface RowReader {
+        /** The next record, or {@code null} at end of input. */
+        ImportRow next() throws IOException;
+    }
+
+    public interface ImportRow {
+        /** Line of the input file the record starts on. */
+        long line();
+
+        <T> T read(ObjectMapper objectMapper, Class<T> type) throws IOException;
+    }
+
+    private static final class NdjsonReader implements RowReader {
+        private final BufferedReader in;
+        private long line;
+
+        NdjsonReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String text;
+            do {
+                text = in.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+            long number = line;
+            String json = text;
+            return new ImportRow() {
+                @Override
+                public long line() {
+                    return number;
+                }
+
+                @Override
+                public <T> T read(ObjectMapper objectMapper, Class<T> type) throws IOException {
+                    return objectMapper.readValue(json, type);
+                }
+            };
+        }
+    }
+
+    /**
+     * RFC 4180 records with a header row naming DTO properties. Quoted fields may contain
+     * commas, doubled quotes and line breaks; empty fields read as null, matching the export.
+     */
+    private static final class CsvReader implements RowReader {
+        private final BufferedReader in;
+        private final String[] header;
+        private long line;
+
+        CsvReader(BufferedReader in) throws IOException {
+            this.in = in;
+            List<String> names = readRecord();
+            if (names == null) {
+                throw new IllegalArgumentException("CSV import needs a header row");
+            }
+            this.header = names.stream().map(String::trim).toArray(String[]::new);
+            if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+                header[0] = header[0].substring(1);
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            List<String> values;
+            long start;
+            do {
+                start = line + 1;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+            return new CsvRow(start, header, values);
+        }
+
+        private List<String> readRecord() throws IOException {
+            String text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            long start = line;
+            List<String> fields = new ArrayList<>(header == null ? 16 : header.length);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    text = in.readLine();
+                    if (text == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field starting on line " + start);
+                    }
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private record CsvRow(long line, String[] header, List<String> values) implements ImportRow {
+        @Override
+        public <T> T read(ObjectMapper objectMapper, Class<T> type) throws IOException {
+            if (values.size() > header.length) {
+                throw new IllegalArgumentException("Expected " + header.length + " fields but found " + values.size());
+            }
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    node.put(header[i], values.get(i));
+                }
+            }
+            return objectMapper.treeToValue(node, type);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.af.carrsvt.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.af.carrsvt.dto.ImportJobDto;
+import com.af.carrsvt.dto.ImportRowErrorDto;
+
+/**
+ * Progress of one bulk import. Counters are updated by the reading thread and the workers
+ * concurrently; only the first {@code maxErrors} row errors are kept, the rest are counted.
+ */
+public class ImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final ImportTarget target;
+    private final ImportFormat format;
+    private final int maxErrors;
+    private final OffsetDateTime createdAt = OffsetDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final List<ImportRowErrorDto> errors = new ArrayList<>();
+    private volatile State state = State.QUEUED;
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+    private volatile String failure;
+
+    ImportJob(String jobId, ImportTarget target, ImportFormat format, int maxErrors) {
+        this.jobId = jobId;
+        this.target = target;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = OffsetDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowsImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    void rowFailed(long line, String message) {
+        rowsFailed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDto(line, message));
+            }
+        }
+    }
+
+    /** Marks the job finished; a non-null {@code failure} means the file could not be read to the end. */
+    void finish(String failure) {
+        this.failure = failure;
+        finishedAt = OffsetDateTime.now();
+        state = failure == null ? State.COMPLETED : State.FAILED;
+    }
+
+    public ImportJobDto snapshot() {
+        ImportJobDto dto = new ImportJobDto();
+        dto.setJobId(jobId);
+        dto.setTarget(target.name());
+        dto.setFormat(format.name());
+        dto.setState(state.name());
+        dto.setCreatedAt(createdAt);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setRowsRead(rowsRead.get());
+        dto.setRowsImported(rowsImported.get());
+        dto.setRowsFailed(rowsFailed.get());
+        dto.setFailure(failure);
+        List<ImportRowErrorDto> copy;
+        synchronized (errors) {
+            copy = new ArrayList<>(errors);
+        }
+        copy.sort(Comparator.comparingLong(ImportRowErrorDto::getLine));
+        dto.setErrors(copy);
+        return dto;
+    }
+}
@@ -0,0 +1,310 @@
+package com.af.carrsvt.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.dto.CustomerDto;
+import com.af.carrsvt.dto.DriverDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.entity.Driver;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.mapper.CustomerMapper;
+import com.af.carrsvt.mapper.DriverMapper;
+import com.af.carrsvt.mapper.VehicleMapper;
+import com.af.carrsvt.repository.CustomerRepository;
+import com.af.carrsvt.repository.DriverRepository;
+import com.af.carrsvt.repository.VehicleRepository;
+import com.af.carrsvt.service.ImportFormat.ImportRow;
+import com.af.carrsvt.service.ImportFormat.RowReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk imports of vehicles, drivers and customers from a spooled upload.
+ *
+ * <p>One job thread per running import reads the file a record at a time and hands chunks of
+ * {@code import.chunk-size} records to a shared worker pool. Workers parse, validate and map
+ * their chunk, then write it in a single transaction. Each job may have at most two chunks per
+ * worker in flight, so a fast reader never buffers more than that of the file. When a chunk's
+ * transaction fails (duplicate plate, unknown driver) its rows are retried one by one so only
+ * the offending rows are reported.
+ */
+@Service
+@Timed(MetricNames.SERVICE_CALLS)
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleMapper vehicleMapper;
+
+    @Autowired
+    private DriverMapper driverMapper;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Value("${import.workers:4}")
+    private int workers;
+
+    @Value("${import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${import.retention:24h}")
+    private Duration retention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ImportTarget, Importer<?, ?>> importers = new EnumMap<>(ImportTarget.class);
+    private ExecutorService jobThreads;
+    private ExecutorService workerPool;
+
+    /** How one target turns a record into a saved row. */
+    private record Importer<D, E>(Class<D> dtoClass, Function<D, E> toEntity, Consumer<E> clearId,
+            JpaRepository<E, Long> repository, Consumer<List<E>> afterCommit) {
+    }
+
+    private record PendingRow<E>(long line, E entity) {
+    }
+
+    @PostConstruct
+    void start() {
+        jobThreads = Executors.newFixedThreadPool(maxConcurrentJobs, namedThreads("import-job-"));
+        workerPool = Executors.newFixedThreadPool(workers, namedThreads("import-worker-"));
+        importers.put(ImportTarget.VEHICLES, new Importer<VehicleDto, Vehicle>(VehicleDto.class,
+            vehicleMapper::vehicleDtoToVehicle, v -> v.setVehicleId(null), vehicleRepository,
+            saved -> saved.forEach(v -> fleetIndex.put(v.getVehicleId(), v.getDriverId(), v.getVehicleType(), v.getStatus()))));
+        importers.put(ImportTarget.DRIVERS, new Importer<DriverDto, Driver>(DriverDto.class,
+            driverMapper::driverDtoToDriver, d -> d.setDriverId(null), driverRepository,
+            saved -> saved.forEach(d -> fleetIndex.putDriver(d.getDriverId()))));
+        importers.put(ImportTarget.CUSTOMERS, new Importer<CustomerDto, Customer>(CustomerDto.class,
+            dto -> {
+                // BCrypt runs here on the worker, outside the chunk transaction
+                Customer customer = customerMapper.customerDtoToCustomer(dto);
+                customer.setPassword(passwordEncoder.encode(customer.getPassword()));
+                return customer;
+            },
+            c -> c.setCustomerId(null), customerRepository, saved -> { }));
+    }
+
+    @PreDestroy
+    void stop() {
+        jobThreads.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    /** Queues an import of {@code file}, which the job deletes once it has been read. */
+    public ImportJob submit(ImportTarget target, ImportFormat format, Path file) {
+        pruneFinished();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), target, format, maxErrors);
+        jobs.put(job.getJobId(), job);
+        jobThreads.execute(() -> run(job, importers.get(target), format, file));
+        return job;
+    }
+
+    public ImportJob getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Import job not found");
+        }
+        return job;
+    }
+
+    private void pruneFinished() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private <D, E> void run(ImportJob job, Importer<D, E> importer, ImportFormat format, Path file) {
+        job.start();
+        int permits = workers * 2;
+        Semaphore inFlight = new Semaphore(permits);
+        String failure = null;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowReader rows = format.open(reader);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+                job.rowRead();
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    dispatch(job, importer, chunk, inFlight);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                dispatch(job, importer, chunk, inFlight);
+            }
+        } catch (IOException | RuntimeException ex) {
+            failure = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failure = "Import interrupted";
+        }
+        try {
+            // chunks already handed out still finish, so the counters are final when the job is
+            inFlight.acquire(permits);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failure = "Import interrupted";
+        }
+        job.finish(failure);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import spool file {}", file, ex);
+        }
+    }
+
+    private <D, E> void dispatch(ImportJob job, Importer<D, E> importer, List<ImportRow> chunk, Semaphore inFlight)
+            throws InterruptedException {
+        inFlight.acquire();
+        try {
+            workerPool.execute(() -> {
+                try {
+                    write(job, importer, convert(job, importer, chunk));
+                } catch (RuntimeException ex) {
+                    log.error("Import chunk failed for job {}", job.getJobId(), ex);
+                    chunk.forEach(row -> job.rowFailed(row.line(), "Not imported: " + ex.getMessage()));
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+    }
+
+    private <D, E> List<PendingRow<E>> convert(ImportJob job, Importer<D, E> importer, List<ImportRow> chunk) {
+        List<PendingRow<E>> pending = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            try {
+                D dto = row.read(objectMapper, importer.dtoClass());
+                Set<ConstraintViolation<D>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    job.rowFailed(row.line(), describe(violations));
+                    continue;
+                }
+                pending.add(new PendingRow<>(row.line(), importer.toEntity().apply(dto)));
+            } catch (JsonProcessingException ex) {
+                job.rowFailed(row.line(), ex.getOriginalMessage());
+            } catch (IOException | RuntimeException ex) {
+                job.rowFailed(row.line(), ex.getMessage());
+            }
+        }
+        return pending;
+    }
+
+    private <D, E> void write(ImportJob job, Importer<D, E> importer, List<PendingRow<E>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<E> entities = rows.stream().map(PendingRow::entity).collect(Collectors.toList());
+        try {
+            entities.forEach(importer.clearId());
+            transactionTemplate.executeWithoutResult(tx -> importer.repository().saveAll(entities));
+            importer.afterCommit().accept(entities);
+            job.rowsImported(entities.size());
+            return;
+        } catch (DataAccessException | TransactionException ex) {
+            log.debug("Import chunk rolled back for job {}, retrying row by row", job.getJobId(), ex);
+        }
+        for (PendingRow<E> row : rows) {
+            try {
+                // ids handed out by the rolled-back attempt are stale
+                importer.clearId().accept(row.entity());
+                transactionTemplate.executeWithoutResult(tx -> importer.repository().save(row.entity()));
+                importer.afterCommit().accept(List.of(row.entity()));
+                job.rowsImported(1);
+            } catch (DataAccessException | TransactionException ex) {
+                job.rowFailed(row.line(), NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+            }
+        }
+    }
+
+    private static <D> String describe(Set<ConstraintViolation<D>> violations) {
+        return violations.stream()
+            .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .collect(Collectors.joining("; "));
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
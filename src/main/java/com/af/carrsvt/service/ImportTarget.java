@@ -0,0 +1,18 @@
+package com.af.carrsvt.service;
+
+import java.util.Locale;
+
+/** Entity kinds the bulk import can load. */
+public enum ImportTarget {
+    VEHICLES,
+    DRIVERS,
+    CUSTOMERS;
+
+    public static ImportTarget from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported import target: " + value);
+        }
+    }
+}
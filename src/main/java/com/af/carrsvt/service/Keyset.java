@@ -0,0 +1,113 @@
+package com.af.carrsvt.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Keyset (seek) pagination over an entity's id column. Pages are fetched with
+ * {@code WHERE id > :afterId ORDER BY id LIMIT :limit + 1}, so deep pages cost the
+ * same as the first one. The next cursor is an opaque token carrying the last id
+ * and the sort direction.
+ */
+public final class Keyset {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final Long afterId;
+    private final Sort.Direction direction;
+    private final int limit;
+
+    private Keyset(Long afterId, Sort.Direction direction, int limit) {
+        this.afterId = afterId;
+        this.direction = direction;
+        this.limit = limit;
+    }
+
+    public static Keyset of(String cursor, Long afterId, Integer limit, String sort) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        size = Math.min(size, MAX_LIMIT);
+        if (cursor != null && !cursor.isBlank()) {
+            return decode(cursor, size);
+        }
+        return new Keyset(afterId, parseDirection(sort), size);
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /** Rows to request from the database: one extra row tells us whether a next page exists. */
+    public int fetchSize() {
+        return limit + 1;
+    }
+
+    public Sort sort(String idAttribute) {
+        return Sort.by(direction, idAttribute);
+    }
+
+    public <T> Specification<T> seek(String idAttribute) {
+        return (root, query, cb) -> {
+            if (afterId == null) {
+                return null;
+            }
+            return direction.isAscending()
+                ? cb.greaterThan(root.get(idAttribute), afterId)
+                : cb.lessThan(root.get(idAttribute), afterId);
+        };
+    }
+
+    public <T> KeysetPage<T> page(List<T> rows, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, encode(idOf.apply(items.get(limit - 1))));
+    }
+
+    private String encode(Long lastId) {
+        String raw = (direction.isAscending() ? "a:" : "d:") + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Keyset decode(String cursor, int limit) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+        if (raw.length() < 3 || raw.charAt(1) != ':' || (raw.charAt(0) != 'a' && raw.charAt(0) != 'd')) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        Sort.Direction direction = raw.charAt(0) == 'a' ? Sort.Direction.ASC : Sort.Direction.DESC;
+        try {
+            return new Keyset(Long.valueOf(raw.substring(2)), direction, limit);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    private static Sort.Direction parseDirection(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromString(sort);
+    }
+}
@@ -0,0 +1,22 @@
+package com.af.carrsvt.service;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+@Getter
+public class KeysetPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public <R> List<R> map(Function<T, R> mapper) {
+        return items.stream().map(mapper).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,5 @@
+package com.af.carrsvt.service;
+
+/** One GPS fix from a driver's app; {@code recordedAt} is epoch milliseconds. */
+public record LocationPing(long driverId, double latitude, double longitude, long recordedAt) {
+}
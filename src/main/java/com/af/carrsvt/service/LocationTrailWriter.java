@@ -0,0 +1,190 @@
+package com.af.carrsvt.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Appends pings to {@code driver_location} off the request path. Pings wait in a bounded
+ * queue; one writer thread collects up to {@code batch-size} of them, or whatever arrived
+ * within {@code flush-interval}, and inserts them with a single JDBC batch, which Connector/J
+ * rewrites into multi-row inserts. When the queue is full new pings are dropped, not blocked
+ * on: the trail is best effort, the latest position is kept by {@link DriverLocationStore}.
+ */
+@Component
+public class LocationTrailWriter implements SmartLifecycle, MeterBinder {
+
+    static final String INSERT = "insert into driver_location (driver_id, latitude, longitude, recorded_at) values (?, ?, ?, ?)";
+
+    private static final Logger log = LoggerFactory.getLogger(LocationTrailWriter.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final BlockingQueue<LocationPing> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile Timer flushTimer;
+    private volatile Thread writer;
+
+    public LocationTrailWriter(@Value("${location.trail.queue-capacity:100000}") int queueCapacity,
+                               @Value("${location.trail.batch-size:1000}") int batchSize,
+                               @Value("${location.trail.flush-interval:PT1S}") Duration flushInterval) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("location.trail.queue", queue, BlockingQueue::size)
+            .description("Pings waiting to be written to the trail")
+            .register(registry);
+        FunctionCounter.builder("location.trail", written, LongAdder::sum)
+            .description("Pings written to the trail")
+            .tag("result", "written")
+            .register(registry);
+        FunctionCounter.builder("location.trail", dropped, LongAdder::sum)
+            .description("Pings dropped because the trail queue was full")
+            .tag("result", "dropped")
+            .register(registry);
+        FunctionCounter.builder("location.trail", failed, LongAdder::sum)
+            .description("Pings lost to a failed batch insert")
+            .tag("result", "failed")
+            .register(registry);
+        flushTimer = Timer.builder("location.trail.flush")
+            .description("Batch insert into driver_location")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    /** Queues the pings for the trail; returns how many were dropped because the queue was full. */
+    public int offerAll(List<LocationPing> pings) {
+        int rejected = 0;
+        for (LocationPing ping : pings) {
+            if (!queue.offer(ping)) {
+                rejected++;
+            }
+        }
+        dropped.add(rejected);
+        return rejected;
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::run, "location-trail-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        writer = null;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever is still queued goes out before the connection pool closes
+        while (flush() > 0) {
+            // keep going until the queue is empty
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /** Writes up to one batch of queued pings without waiting for more; returns the number taken. */
+    public int flush() {
+        List<LocationPing> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        queue.drainTo(batch, batchSize);
+        write(batch);
+        return batch.size();
+    }
+
+    private void run() {
+        List<LocationPing> batch = new ArrayList<>(batchSize);
+        while (writer == Thread.currentThread()) {
+            try {
+                LocationPing first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // a larger batch costs little more than a small one, so wait out the interval to fill it
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    LocationPing next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                // stop() flushes the rest; write what has been collected
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LocationPing> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, ping) -> {
+                ps.setLong(1, ping.driverId());
+                ps.setDouble(2, ping.latitude());
+                ps.setDouble(3, ping.longitude());
+                ps.setTimestamp(4, Timestamp.from(Instant.ofEpochMilli(ping.recordedAt())));
+            });
+            written.add(batch.size());
+        } catch (RuntimeException ex) {
+            failed.add(batch.size());
+            log.warn("Could not write {} trail pings", batch.size(), ex);
+        } finally {
+            Timer timer = flushTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
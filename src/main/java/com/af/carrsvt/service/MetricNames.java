@@ -0,0 +1,19 @@
+package com.af.carrsvt.service;
+
+/**
+ * Names of the application's own meters. Histogram buckets for each are configured under
+ * {@code management.metrics.distribution.*} rather than on the annotation.
+ */
+public final class MetricNames {
+    /** Service method timer, tagged with {@code class}, {@code method} and {@code exception}. */
+    public static final String SERVICE_CALLS = "service.calls";
+    /** Repository method spans, recorded only inside sampled traces. */
+    public static final String REPOSITORY_CALLS = "repository.calls";
+    /** MapStruct mapper method spans, recorded only inside sampled traces. */
+    public static final String MAPPER_CALLS = "mapper.calls";
+    /** JSON response serialization spans, recorded only inside sampled traces. */
+    public static final String JSON_WRITE = "json.write";
+
+    private MetricNames() {
+    }
+}
@@ -4,14 +4,18 @@ import java.time.OffsetDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.af.carrsvt.entity.PaymentMethod;
+import com.af.carrsvt.repository.FilterSpecifications;
 import com.af.carrsvt.repository.PaymentMethodRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class PaymentMethodService {
     @Autowired
     private PaymentMethodRepository paymentMethodRepository;
@@ -21,8 +25,12 @@ public class PaymentMethodService {
         return paymentMethodRepository.save(pm);
     }
 
-    public List<PaymentMethod> getAllPaymentMethods() {
-        return paymentMethodRepository.findAll();
+    public KeysetPage<PaymentMethod> getPaymentMethods(Long customerId, String methodType, Keyset keyset) {
+        Specification<PaymentMethod> spec = keyset.<PaymentMethod>seek("paymentMethodId")
+            .and(FilterSpecifications.equalTo("customerId", customerId))
+            .and(FilterSpecifications.equalTo("methodType", methodType));
+        List<PaymentMethod> rows = paymentMethodRepository.findBy(spec, q -> q.sortBy(keyset.sort("paymentMethodId")).limit(keyset.fetchSize()).all());
+        return keyset.page(rows, PaymentMethod::getPaymentMethodId);
     }
 
     public List<PaymentMethod> getByCustomerId(Long customerId) {
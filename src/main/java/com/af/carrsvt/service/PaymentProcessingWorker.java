@@ -0,0 +1,236 @@
+package com.af.carrsvt.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.PaymentOutbox;
+import com.af.carrsvt.repository.OutboxBacklog;
+import com.af.carrsvt.repository.PaymentOutboxRepository;
+import com.af.carrsvt.repository.PaymentRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Drains the payment outbox. Each worker claims up to {@code batch-size} due rows with
+ * {@code SKIP LOCKED} and leases them by pushing {@code availableAt} forward, then calls the
+ * {@link PaymentProcessor} outside any transaction, and finally writes the outcomes in one short
+ * transaction: one bulk status update per outcome, one batch delete, and reschedules with
+ * exponential backoff. After {@code max-attempts} a payment is marked {@code FAILED}.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.processing.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentProcessingWorker implements SmartLifecycle, MeterBinder {
+
+    public static final String FAILED = "FAILED";
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessingWorker.class);
+
+    @Autowired
+    private PaymentOutboxRepository outboxRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentProcessor processor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${payment.processing.workers:2}")
+    private int workers;
+
+    @Value("${payment.processing.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.processing.poll-interval:PT0.2S}")
+    private Duration pollInterval;
+
+    @Value("${payment.processing.lease:PT1M}")
+    private Duration lease;
+
+    @Value("${payment.processing.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.processing.retry-delay:PT5S}")
+    private Duration retryDelay;
+
+    @Value("${payment.processing.backlog-interval:PT5S}")
+    private Duration backlogInterval;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile MeterRegistry registry;
+    private volatile Timer settleTimer;
+    private volatile ScheduledExecutorService scheduler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("payment.outbox.depth", depth, AtomicLong::get)
+            .description("Payments waiting in the outbox")
+            .register(registry);
+        TimeGauge.builder("payment.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest payment waiting in the outbox")
+            .register(registry);
+        settleTimer = Timer.builder("payment.processor.settle")
+            .description("Processor call per batch")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.registry = registry;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(workers + 1, namedThreads("payment-worker-"));
+        for (int i = 0; i < workers; i++) {
+            executor.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        executor.scheduleWithFixedDelay(this::refreshBacklog, 0, backlogInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+        scheduler = null;
+        // batches in flight finish; anything cut off comes back when its lease expires
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /** Claims, settles and records one batch; returns the number of outbox rows claimed. */
+    public int processBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PaymentOutbox> batch = transactionTemplate.execute(tx -> {
+            List<PaymentOutbox> due = outboxRepository.findDueForUpdate(now, Limit.of(batchSize));
+            due.forEach(row -> row.setAvailableAt(now.plus(lease)));
+            return due;
+        });
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Payment> payments = paymentRepository.findAllById(batch.stream().map(PaymentOutbox::getPaymentId).collect(Collectors.toList()));
+        Map<Long, String> outcomes = settle(payments);
+
+        Map<String, List<Long>> settled = new HashMap<>();
+        List<Long> finished = new ArrayList<>();
+        Map<Integer, List<Long>> retries = new TreeMap<>();
+        for (PaymentOutbox row : batch) {
+            String status = outcomes.get(row.getPaymentId());
+            if (status == null && row.getAttempts() + 1 >= maxAttempts) {
+                status = FAILED;
+            }
+            if (status != null) {
+                settled.computeIfAbsent(status, s -> new ArrayList<>()).add(row.getPaymentId());
+                finished.add(row.getOutboxId());
+            } else {
+                retries.computeIfAbsent(row.getAttempts(), a -> new ArrayList<>()).add(row.getOutboxId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            settled.forEach((status, ids) -> paymentRepository.updateStatus(ids, status));
+            if (!finished.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(finished);
+            }
+            OffsetDateTime retryBase = OffsetDateTime.now();
+            retries.forEach((attempts, ids) -> outboxRepository.reschedule(ids, retryBase.plus(backoff(attempts))));
+        });
+        MeterRegistry meters = registry;
+        if (meters != null) {
+            settled.forEach((status, ids) -> meters.counter("payment.settled", "status", status).increment(ids.size()));
+        }
+        return batch.size();
+    }
+
+    private void drain() {
+        try {
+            while (processBatch() == batchSize && !Thread.currentThread().isInterrupted()) {
+                // a full batch means more is due; keep going without waiting for the next poll
+            }
+        } catch (RuntimeException ex) {
+            // an escaping exception would cancel the schedule; claimed rows return after their lease
+            log.warn("Payment outbox batch failed", ex);
+        }
+    }
+
+    private Map<Long, String> settle(List<Payment> payments) {
+        long start = System.nanoTime();
+        try {
+            return processor.settle(payments);
+        } catch (RuntimeException ex) {
+            log.warn("Payment processor failed for a batch of {}, retrying", payments.size(), ex);
+            return Map.of();
+        } finally {
+            Timer timer = settleTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            OutboxBacklog backlog = outboxRepository.backlog();
+            depth.set(backlog.depth());
+            lagMillis.set(backlog.oldestCreatedAt() == null
+                ? 0 : Math.max(0, Duration.between(backlog.oldestCreatedAt(), OffsetDateTime.now()).toMillis()));
+        } catch (RuntimeException ex) {
+            log.debug("Could not read the payment outbox backlog", ex);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        return retryDelay.multipliedBy(1L << Math.min(attempts, 6));
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.af.carrsvt.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.af.carrsvt.entity.Payment;
+
+/**
+ * The payment provider behind {@link PaymentProcessingWorker}. Called outside any transaction
+ * with one batch at a time; implementations should settle the batch in as few provider calls as
+ * they can.
+ */
+public interface PaymentProcessor {
+    String PAID = "PAID";
+    String DECLINED = "DECLINED";
+
+    /**
+     * Returns the final status ({@link #PAID} or {@link #DECLINED}) for each payment id it
+     * decided. Ids left out, or a thrown exception for the whole batch, are retried later.
+     */
+    Map<Long, String> settle(List<Payment> payments);
+}
@@ -1,44 +1,185 @@
 package com.af.carrsvt.service;
 
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.af.carrsvt.dto.PaymentDto;
 import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.PaymentOutbox;
+import com.af.carrsvt.exception.IdempotencyKeyReuseException;
+import com.af.carrsvt.exception.PaymentConflictException;
+import com.af.carrsvt.repository.FilterSpecifications;
+import com.af.carrsvt.repository.PaymentOutboxRepository;
 import com.af.carrsvt.repository.PaymentRepository;
+import com.af.carrsvt.repository.ProjectionQueries;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class PaymentService {
+    public static final String PENDING = "PENDING";
+    private static final int EXPORT_DETACH_INTERVAL = 500;
+
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private ProjectionQueries projectionQueries;
+
+    @Autowired
+    private PaymentOutboxRepository outboxRepository;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** The payment a create request resolved to, and whether it was created by an earlier request. */
+    public record CreateResult(Payment payment, boolean replayed) {
+    }
+
+    /**
+     * Records {@code payment} as {@code PENDING} and queues it in the outbox in the same
+     * transaction; {@link PaymentProcessingWorker} settles it later, so checkout never waits on
+     * the processor. Any client-supplied id or status is ignored.
+     */
     public Payment savePayment(Payment payment) {
-        return paymentRepository.save(payment);
+        payment.setPaymentId(null);
+        payment.setStatus(PENDING);
+        return transactionTemplate.execute(tx -> {
+            Payment saved = paymentRepository.save(payment);
+            outboxRepository.save(new PaymentOutbox(saved.getPaymentId(), OffsetDateTime.now()));
+            return saved;
+        });
+    }
+
+    /**
+     * Creates {@code payment} at most once per {@code owner} and {@code idempotencyKey}. The first
+     * request inserts with the key hash on the row; no lookup precedes the insert. Duplicates on
+     * this node wait for that request and replay its payment. Duplicates from other nodes, or
+     * after the cache window, hit the unique index and replay the row that won. Reusing a key
+     * with a different body is rejected.
+     */
+    public CreateResult savePayment(Payment payment, String owner, String idempotencyKey) {
+        String keyHash = IdempotencyCache.hash(owner, idempotencyKey);
+        String requestHash = requestHash(payment);
+        IdempotencyCache.Entry mine = IdempotencyCache.Entry.pending(requestHash);
+        IdempotencyCache.Entry earlier = idempotencyCache.claim(keyHash, mine);
+        if (earlier != null) {
+            requireSameRequest(earlier.requestHash(), requestHash);
+            return new CreateResult(getPaymentById(idempotencyCache.await(earlier)), true);
+        }
+        try {
+            payment.setIdempotencyKey(keyHash);
+            payment.setRequestHash(requestHash);
+            Payment saved;
+            boolean replayed = false;
+            try {
+                saved = savePayment(payment);
+            } catch (DataIntegrityViolationException ex) {
+                saved = paymentRepository.findByIdempotencyKey(keyHash).orElseThrow(() -> ex);
+                requireSameRequest(saved.getRequestHash(), requestHash);
+                replayed = true;
+            }
+            mine.result().complete(saved.getPaymentId());
+            return new CreateResult(saved, replayed);
+        } catch (RuntimeException ex) {
+            idempotencyCache.release(keyHash, mine);
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public KeysetPage<PaymentDto> getPayments(String status, Long reservationId, String paymentMethod, OffsetDateTime paidFrom, OffsetDateTime paidTo, Keyset keyset) {
+        Specification<Payment> spec = keyset.<Payment>seek("paymentId")
+            .and(FilterSpecifications.equalTo("status", status))
+            .and(FilterSpecifications.equalTo("reservationId", reservationId))
+            .and(FilterSpecifications.equalTo("paymentMethod", paymentMethod))
+            .and(FilterSpecifications.atLeast("paymentTime", paidFrom))
+            .and(FilterSpecifications.before("paymentTime", paidTo));
+        List<PaymentDto> rows = projectionQueries.findAll(Payment.class, PaymentDto.class, PaymentDto.LIST_COLUMNS,
+            spec, keyset.sort("paymentId"), keyset.fetchSize());
+        return keyset.page(rows, PaymentDto::getPaymentId);
     }
 
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    /**
+     * Streams every payment with an id above {@code afterId} in id order. Rows are detached
+     * in batches as they are written, so heap use stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportPayments(Long afterId, ExportSink<Payment> sink) throws IOException {
+        try (Stream<Payment> rows = paymentRepository.streamAfter(afterId)) {
+            Iterator<Payment> it = rows.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                sink.accept(it.next());
+                if (++written % EXPORT_DETACH_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     public Payment getPaymentById(Long paymentId) {
         return paymentRepository.findById(paymentId).orElseThrow(() -> new EntityNotFoundException("Payment not found"));
     }
 
+    /**
+     * Edits a payment the processor has not seen yet: still {@code PENDING}, and its outbox row
+     * neither attempted nor leased by a worker. The payment and outbox rows stay locked until
+     * commit, so a worker can neither claim nor settle it meanwhile. Status is never taken from
+     * the request; it belongs to the processing pipeline.
+     */
     public Payment updatePayment(Long paymentId, Payment paymentDetails) {
-        Payment payment = getPaymentById(paymentId);
-        payment.setReservationId(paymentDetails.getReservationId());
-        payment.setPaymentTime(paymentDetails.getPaymentTime());
-        payment.setAmount(paymentDetails.getAmount());
-        payment.setPaymentMethod(paymentDetails.getPaymentMethod());
-        payment.setStatus(paymentDetails.getStatus());
-        return paymentRepository.save(payment);
+        return transactionTemplate.execute(tx -> {
+            Payment payment = paymentRepository.lockById(paymentId).orElseThrow(() -> new EntityNotFoundException("Payment not found"));
+            PaymentOutbox outbox = outboxRepository.lockByPaymentId(paymentId).orElse(null);
+            if (!PENDING.equals(payment.getStatus()) || outbox == null || outbox.getAttempts() > 0
+                    || outbox.getAvailableAt().isAfter(OffsetDateTime.now())) {
+                throw new PaymentConflictException("Payment " + paymentId + " is already being processed");
+            }
+            payment.setReservationId(paymentDetails.getReservationId());
+            payment.setPaymentTime(paymentDetails.getPaymentTime());
+            payment.setAmount(paymentDetails.getAmount());
+            payment.setPaymentMethod(paymentDetails.getPaymentMethod());
+            return paymentRepository.save(payment);
+        });
     }
 
     public void deletePayment(Long paymentId) {
         Payment payment = getPaymentById(paymentId);
         paymentRepository.delete(payment);
     }
+
+    private static String requestHash(Payment payment) {
+        return IdempotencyCache.hash(
+            String.valueOf(payment.getReservationId()),
+            payment.getPaymentTime() == null ? null : payment.getPaymentTime().toInstant().toString(),
+            payment.getAmount() == null ? null : payment.getAmount().stripTrailingZeros().toPlainString(),
+            payment.getPaymentMethod());
+    }
+
+    private static void requireSameRequest(String original, String current) {
+        if (!current.equals(original)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key was already used for a different payment request");
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package com.af.carrsvt.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.RateCard;
+import com.af.carrsvt.repository.RateCardRepository;
+import com.af.carrsvt.service.RateTable.Quote;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Quotes trips from the compiled {@link RateTable}. Rate cards are replaced as a whole: the new
+ * set is compiled (and so validated) before it is written, and the table is swapped in one
+ * volatile write, so a quote sees either the old cards or the new ones. Other nodes pick up a
+ * replacement on their next {@code pricing.refresh-interval} reload.
+ */
+@Service
+@Timed(MetricNames.SERVICE_CALLS)
+public class PricingService {
+
+    static final double MAX_DISTANCE_KM = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(PricingService.class);
+
+    @Autowired
+    private RateCardRepository rateCardRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DemandTracker demandTracker;
+
+    @Value("${pricing.zone:UTC}")
+    private ZoneId zone;
+
+    @Value("${reservation.default-duration:PT2H}")
+    private Duration defaultDuration;
+
+    private final Object writeLock = new Object();
+    private volatile RateTable rates = RateTable.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        load();
+        log.info("Loaded {} rate cards", rates.size());
+    }
+
+    @Scheduled(fixedDelayString = "${pricing.refresh-interval:PT1M}", initialDelayString = "${pricing.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            // keep quoting from the table we have
+            log.warn("Could not reload rate cards", ex);
+        }
+    }
+
+    private void load() {
+        synchronized (writeLock) {
+            rates = RateTable.compile(rateCardRepository.findAll());
+        }
+    }
+
+    public List<RateCard> getRateCards() {
+        return rateCardRepository.findAll(Sort.by("rateCardId"));
+    }
+
+    public List<RateCard> replaceRateCards(List<RateCard> cards) {
+        RateTable compiled = RateTable.compile(cards);
+        cards.forEach(card -> card.setRateCardId(null));
+        synchronized (writeLock) {
+            List<RateCard> saved = transactionTemplate.execute(tx -> {
+                rateCardRepository.deleteAllInBatch();
+                return rateCardRepository.saveAll(cards);
+            });
+            rates = compiled;
+            return saved;
+        }
+    }
+
+    /**
+     * Fare in minor units for the trip, with the current surge for the pickup area (none without
+     * a pickup point); the dropoff defaults to {@code reservation.default-duration} after pickup.
+     */
+    public Quote quote(String vehicleType, OffsetDateTime pickupTime, OffsetDateTime dropoffTime, double distanceKm,
+                       Double pickupLatitude, Double pickupLongitude) {
+        if (!(distanceKm >= 0 && distanceKm <= MAX_DISTANCE_KM)) {
+            throw new IllegalArgumentException("distanceKm must be between 0 and " + MAX_DISTANCE_KM);
+        }
+        OffsetDateTime dropoff = dropoffTime != null ? dropoffTime : pickupTime.plus(defaultDuration);
+        if (!dropoff.isAfter(pickupTime)) {
+            throw new IllegalArgumentException("dropoffTime must be after pickupTime");
+        }
+        long seconds = Duration.between(pickupTime, dropoff).getSeconds();
+        ZonedDateTime local = pickupTime.atZoneSameInstant(zone);
+        Quote quote = rates.quote(vehicleType, local.getDayOfWeek().getValue(), local.getHour(),
+            Math.round(distanceKm * 1000), (seconds + 59) / 60);
+        if (quote == null) {
+            throw new EntityNotFoundException("No rate card for " + vehicleType + " on " + local.getDayOfWeek() + " at " + local.getHour() + ":00");
+        }
+        double surge = demandTracker.surge(vehicleType, pickupLatitude, pickupLongitude);
+        return quote.surged(Math.round(surge * RateTable.NO_SURGE));
+    }
+}
@@ -0,0 +1,160 @@
+package com.af.carrsvt.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.af.carrsvt.entity.RateCard;
+
+/**
+ * Rate cards compiled into flat arrays with one entry per vehicle type and hour of the week,
+ * holding amounts in minor units (hundredths, the scale of {@code Payment.amount}). A quote is
+ * a map lookup for the type, an array read and three multiplications, with no allocation
+ * beyond the result. Tables are immutable; {@link PricingService} swaps in a new one.
+ *
+ * <p>Cards for every day are laid down first and day-specific cards over them; within each
+ * group wider hour ranges go first, so the most specific card covering an hour wins.
+ */
+public final class RateTable {
+
+    /** Decimal places of the minor unit. */
+    public static final int SCALE = 2;
+    static final int HOURS_PER_WEEK = 7 * 24;
+    private static final long NONE = -1;
+
+    public static final RateTable EMPTY = compile(List.of());
+
+    /** Basis points of a multiplier of 1. */
+    public static final long NO_SURGE = 10_000;
+
+    /** Fare components in minor units, already multiplied by {@code surgeBasisPoints / 10000}. */
+    public record Quote(long baseFare, long distanceFare, long timeFare, long surgeBasisPoints) {
+        public Quote(long baseFare, long distanceFare, long timeFare) {
+            this(baseFare, distanceFare, timeFare, NO_SURGE);
+        }
+
+        public long total() {
+            return baseFare + distanceFare + timeFare;
+        }
+
+        /** This quote with each component multiplied by {@code basisPoints / 10000}, rounded half up. */
+        public Quote surged(long basisPoints) {
+            if (basisPoints == surgeBasisPoints) {
+                return this;
+            }
+            return new Quote(scale(baseFare, basisPoints), scale(distanceFare, basisPoints), scale(timeFare, basisPoints), basisPoints);
+        }
+
+        private long scale(long amount, long basisPoints) {
+            // relative to the current surge, so surging twice does not compound
+            return (Math.multiplyExact(amount, basisPoints) + surgeBasisPoints / 2) / surgeBasisPoints;
+        }
+    }
+
+    private final Map<String, Integer> typeIndex;
+    private final long[] baseFares;
+    private final long[] perKm;
+    private final long[] perHour;
+    private final int cardCount;
+
+    private RateTable(Map<String, Integer> typeIndex, long[] baseFares, long[] perKm, long[] perHour, int cardCount) {
+        this.typeIndex = typeIndex;
+        this.baseFares = baseFares;
+        this.perKm = perKm;
+        this.perHour = perHour;
+        this.cardCount = cardCount;
+    }
+
+    /** Validates and compiles the cards; throws {@link IllegalArgumentException} naming the first bad card. */
+    public static RateTable compile(List<RateCard> cards) {
+        Map<String, Integer> typeIndex = new HashMap<>();
+        for (RateCard card : cards) {
+            validate(card);
+            typeIndex.putIfAbsent(key(card.getVehicleType()), typeIndex.size());
+        }
+        int length = typeIndex.size() * HOURS_PER_WEEK;
+        long[] baseFares = new long[length];
+        long[] perKm = new long[length];
+        long[] perHour = new long[length];
+        Arrays.fill(baseFares, NONE);
+
+        List<RateCard> ordered = cards.stream()
+            .sorted(Comparator.<RateCard>comparingInt(card -> card.getDayOfWeek() == null ? 0 : 1)
+                .thenComparing(Comparator.comparingInt((RateCard card) -> card.getEndHour() - card.getStartHour()).reversed()))
+            .collect(Collectors.toList());
+        for (RateCard card : ordered) {
+            int type = typeIndex.get(key(card.getVehicleType()));
+            long base = minorUnits(card.getBaseFare());
+            long km = minorUnits(card.getPerKm());
+            long hour = minorUnits(card.getPerHour());
+            int firstDay = card.getDayOfWeek() == null ? 1 : card.getDayOfWeek();
+            int lastDay = card.getDayOfWeek() == null ? 7 : card.getDayOfWeek();
+            for (int day = firstDay; day <= lastDay; day++) {
+                for (int h = card.getStartHour(); h < card.getEndHour(); h++) {
+                    int i = index(type, day, h);
+                    baseFares[i] = base;
+                    perKm[i] = km;
+                    perHour[i] = hour;
+                }
+            }
+        }
+        return new RateTable(Map.copyOf(typeIndex), baseFares, perKm, perHour, cards.size());
+    }
+
+    /**
+     * Fare for a trip picked up on ISO {@code dayOfWeek} at local {@code hour}, or {@code null}
+     * if no card covers it. Partial kilometres and minutes are charged pro rata, rounded half up.
+     */
+    public Quote quote(String vehicleType, int dayOfWeek, int hour, long meters, long minutes) {
+        Integer type = vehicleType == null ? null : typeIndex.get(key(vehicleType));
+        if (type == null) {
+            return null;
+        }
+        int i = index(type, dayOfWeek, hour);
+        if (baseFares[i] == NONE) {
+            return null;
+        }
+        long distanceFare = (Math.multiplyExact(perKm[i], meters) + 500) / 1000;
+        long timeFare = (Math.multiplyExact(perHour[i], minutes) + 30) / 60;
+        return new Quote(baseFares[i], distanceFare, timeFare);
+    }
+
+    public int size() {
+        return cardCount;
+    }
+
+    private static int index(int type, int dayOfWeek, int hour) {
+        return type * HOURS_PER_WEEK + (dayOfWeek - 1) * 24 + hour;
+    }
+
+    private static void validate(RateCard card) {
+        if (card.getVehicleType() == null || card.getVehicleType().isBlank()) {
+            throw new IllegalArgumentException("Rate card without vehicleType: " + card);
+        }
+        if (card.getDayOfWeek() != null && (card.getDayOfWeek() < 1 || card.getDayOfWeek() > 7)) {
+            throw new IllegalArgumentException("dayOfWeek must be 1-7: " + card);
+        }
+        if (card.getStartHour() < 0 || card.getEndHour() > 24 || card.getStartHour() >= card.getEndHour()) {
+            throw new IllegalArgumentException("Hours must satisfy 0 <= startHour < endHour <= 24: " + card);
+        }
+        for (BigDecimal amount : new BigDecimal[] {card.getBaseFare(), card.getPerKm(), card.getPerHour()}) {
+            if (amount == null || amount.signum() < 0) {
+                throw new IllegalArgumentException("Fares must be present and not negative: " + card);
+            }
+        }
+    }
+
+    private static long minorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static String key(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
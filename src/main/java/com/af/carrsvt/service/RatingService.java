@@ -0,0 +1,127 @@
+package com.af.carrsvt.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.Feedback;
+import com.af.carrsvt.entity.RatingRollup;
+import com.af.carrsvt.repository.FeedbackRepository;
+import com.af.carrsvt.repository.RatingRollupRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Rating count, sum and 1-5 histogram per vehicle, driver and customer, kept in
+ * {@code rating_rollup} and moved by {@link #apply} in the transaction that writes the feedback.
+ * Reads are one cached row lookup however much feedback there is; cache entries are evicted
+ * after the commit, so a read in between cannot cache the old totals again.
+ */
+@Service
+@Timed(MetricNames.SERVICE_CALLS)
+public class RatingService {
+
+    /** The parts of a feedback that count towards rollups; {@link #NONE} before a create or after a delete. */
+    public record Rated(Long customerId, Long vehicleId, Long driverId, Integer rating) {
+        public static final Rated NONE = new Rated(null, null, null, null);
+
+        public static Rated of(Feedback feedback) {
+            return new Rated(feedback.getCustomerId(), feedback.getVehicleId(), feedback.getDriverId(), feedback.getRating());
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+    @Autowired
+    private RatingRollupRepository ratingRollupRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /** Builds the rollups from all feedback when the table is empty, e.g. on the first start with this table. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (ratingRollupRepository.count() > 0) {
+            return;
+        }
+        try {
+            int rows = transactionTemplate.execute(tx -> {
+                feedbackRepository.attributeUnattributed();
+                return ratingRollupRepository.rebuildFromFeedback();
+            });
+            log.info("Built {} rating rollups from feedback", rows);
+        } catch (RuntimeException ex) {
+            // another node building them at the same time wins on the unique key
+            log.warn("Could not build rating rollups", ex);
+        }
+    }
+
+    /** Totals for the subject; all zero if it has no rated feedback. */
+    @Cacheable(cacheNames = CacheNames.RATINGS, key = "#subject.name() + ':' + #subjectId")
+    public RatingRollup getRating(RatingSubject subject, Long subjectId) {
+        return ratingRollupRepository.findBySubjectTypeAndSubjectId(subject.name(), subjectId).orElseGet(() -> {
+            RatingRollup empty = new RatingRollup();
+            empty.setSubjectType(subject.name());
+            empty.setSubjectId(subjectId);
+            return empty;
+        });
+    }
+
+    /** Moves every rollup the change from {@code before} to {@code after} touches; must run in the feedback's transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Rated before, Rated after) {
+        List<String> touched = new ArrayList<>(6);
+        move(RatingSubject.CUSTOMERS, before.customerId(), before.rating(), after.customerId(), after.rating(), touched);
+        move(RatingSubject.VEHICLES, before.vehicleId(), before.rating(), after.vehicleId(), after.rating(), touched);
+        move(RatingSubject.DRIVERS, before.driverId(), before.rating(), after.driverId(), after.rating(), touched);
+        if (touched.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(CacheNames.RATINGS);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                touched.forEach(cache::evict);
+            }
+        });
+    }
+
+    private void move(RatingSubject subject, Long fromId, Integer fromRating, Long toId, Integer toRating, List<String> touched) {
+        if (Objects.equals(fromId, toId) && Objects.equals(fromRating, toRating)) {
+            return;
+        }
+        if (fromId != null && counts(fromRating)) {
+            ratingRollupRepository.increment(subject.name(), fromId, fromRating, -1);
+            touched.add(subject.name() + ":" + fromId);
+        }
+        if (toId != null && counts(toRating)) {
+            ratingRollupRepository.increment(subject.name(), toId, toRating, 1);
+            touched.add(subject.name() + ":" + toId);
+        }
+    }
+
+    private static boolean counts(Integer rating) {
+        return rating != null && rating >= 1 && rating <= 5;
+    }
+}
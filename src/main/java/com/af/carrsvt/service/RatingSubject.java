@@ -0,0 +1,18 @@
+package com.af.carrsvt.service;
+
+import java.util.Locale;
+
+/** What a rating rollup is kept for; the name is stored as {@code rating_rollup.subject_type}. */
+public enum RatingSubject {
+    VEHICLES,
+    DRIVERS,
+    CUSTOMERS;
+
+    public static RatingSubject from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported rating subject: " + value);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.af.carrsvt.service;
+
+import java.time.OffsetDateTime;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.entity.Vehicle;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive views of the keyset read paths. Every page is one short blocking query on a bounded
+ * JDBC scheduler, and the next page is queried only after the subscriber has drained the
+ * current one, so a slow client holds neither a thread nor a connection between pages.
+ */
+@Service
+public class ReactiveReadService {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Value("${reactive.jdbc.threads:10}")
+    private int jdbcThreads;
+
+    @Value("${reactive.page-size:200}")
+    private int pageSize;
+
+    private Scheduler jdbcScheduler;
+
+    @PostConstruct
+    void start() {
+        jdbcScheduler = Schedulers.newBoundedElastic(jdbcThreads, 10_000, "reactive-jdbc");
+    }
+
+    @PreDestroy
+    void stop() {
+        jdbcScheduler.dispose();
+    }
+
+    public Flux<ReservationDto> streamReservations(String status, Long customerId, Long vehicleId,
+            OffsetDateTime pickupFrom, OffsetDateTime pickupTo, Long afterId, String sort) {
+        return pages(Keyset.of(null, afterId, pageSize, sort),
+            keyset -> reservationService.getReservations(status, customerId, vehicleId, pickupFrom, pickupTo, keyset));
+    }
+
+    public Flux<VehicleDto> streamVehicles(String vehicleType, String status, Long driverId, Long afterId, String sort) {
+        return pages(Keyset.of(null, afterId, pageSize, sort),
+            keyset -> vehicleService.getVehicles(vehicleType, status, driverId, keyset));
+    }
+
+    public Flux<Vehicle> findAvailableVehicles(String vehicleType, String status, OffsetDateTime from, OffsetDateTime to, int limit) {
+        return Mono.fromCallable(() -> vehicleService.findAvailableVehicles(vehicleType, status, from, to, limit))
+            .subscribeOn(jdbcScheduler)
+            .flatMapIterable(Function.identity());
+    }
+
+    private <T> Flux<T> pages(Keyset first, Function<Keyset, KeysetPage<T>> fetch) {
+        // expand walks the cursor chain iteratively; a prefetch of one page keeps a single page in hand
+        return fetchPage(first, fetch)
+            .expand(page -> page.getNextCursor() == null
+                ? Mono.empty()
+                : fetchPage(Keyset.of(page.getNextCursor(), null, pageSize, null), fetch))
+            .flatMapIterable(KeysetPage::getItems, 1);
+    }
+
+    private <T> Mono<KeysetPage<T>> fetchPage(Keyset keyset, Function<Keyset, KeysetPage<T>> fetch) {
+        return Mono.fromCallable(() -> fetch.apply(keyset)).subscribeOn(jdbcScheduler);
+    }
+}
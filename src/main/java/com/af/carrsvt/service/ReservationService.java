@@ -1,45 +1,328 @@
 package com.af.carrsvt.service;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.af.carrsvt.dto.ReservationDto;
 import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.exception.ReservationConflictException;
+import com.af.carrsvt.repository.FilterSpecifications;
+import com.af.carrsvt.repository.ProjectionQueries;
 import com.af.carrsvt.repository.ReservationRepository;
+import com.af.carrsvt.repository.ReservationWindow;
+import com.af.carrsvt.repository.VehicleRepository;
+import com.af.carrsvt.service.VehicleAvailabilityIndex.Slot;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class ReservationService {
+    private static final int EXPORT_DETACH_INTERVAL = 500;
+
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ProjectionQueries projectionQueries;
+
+    @Autowired
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BulkPersister bulkPersister;
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    @Autowired
+    private DemandTracker demandTracker;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${reservation.default-duration:PT2H}")
+    private Duration defaultDuration;
+
+    /**
+     * Books the vehicle atomically: the vehicle's lock stripe serializes bookings on this
+     * node and the in-memory calendar rejects conflicts without touching the database;
+     * the vehicle row lock plus overlap query then guards against other nodes.
+     */
     public Reservation saveReservation(Reservation reservation) {
-        return reservationRepository.save(reservation);
+        recordRequest(reservation);
+        applyDefaultDropoff(reservation);
+        if (!occupiesVehicle(reservation)) {
+            return reservationRepository.save(reservation);
+        }
+        return availabilityIndex.locks().withLock(reservation.getVehicleId(), () -> {
+            requireAvailable(reservation, null);
+            Reservation saved = transactionTemplate.execute(tx -> {
+                guardAgainstOverlap(reservation, -1L);
+                return reservationRepository.save(reservation);
+            });
+            availabilityIndex.add(Slot.of(saved));
+            return saved;
+        });
+    }
+
+    /**
+     * Inserts a batch all-or-nothing. The stripes and rows of every vehicle involved are locked
+     * up front, then one query loads the existing bookings in the batch's time range and all
+     * overlaps (with the database or within the batch) are found in memory before the rows are
+     * written as JDBC batches.
+     */
+    public List<Reservation> saveReservations(List<Reservation> reservations) {
+        for (Reservation r : reservations) {
+            recordRequest(r);
+            r.setReservationId(null);
+            applyDefaultDropoff(r);
+        }
+        List<Reservation> booking = reservations.stream().filter(this::occupiesVehicle).collect(Collectors.toList());
+        List<Long> vehicleIds = booking.stream().map(Reservation::getVehicleId).distinct().sorted().collect(Collectors.toList());
+        long[] stripeKeys = vehicleIds.stream().mapToLong(Long::longValue).toArray();
+        return availabilityIndex.locks().withAllLocks(stripeKeys, () -> {
+            List<Reservation> saved = transactionTemplate.execute(tx -> {
+                if (!booking.isEmpty()) {
+                    if (vehicleRepository.lockAllById(vehicleIds).size() != vehicleIds.size()) {
+                        throw new EntityNotFoundException("Vehicle not found");
+                    }
+                    requireNoOverlaps(booking, vehicleIds);
+                }
+                return bulkPersister.persistAll(reservations);
+            });
+            for (Reservation r : saved) {
+                Slot slot = Slot.of(r);
+                if (slot != null) {
+                    availabilityIndex.add(slot);
+                }
+            }
+            return saved;
+        });
     }
 
-    public List<Reservation> getAllReservations() {
-        return reservationRepository.findAll();
+    public KeysetPage<ReservationDto> getReservations(String status, Long customerId, Long vehicleId, OffsetDateTime pickupFrom, OffsetDateTime pickupTo, Keyset keyset) {
+        Specification<Reservation> spec = keyset.<Reservation>seek("reservationId")
+            .and(FilterSpecifications.equalTo("status", status))
+            .and(FilterSpecifications.equalTo("customerId", customerId))
+            .and(FilterSpecifications.equalTo("vehicleId", vehicleId))
+            .and(FilterSpecifications.atLeast("pickupTime", pickupFrom))
+            .and(FilterSpecifications.before("pickupTime", pickupTo));
+        List<ReservationDto> rows = projectionQueries.findAll(Reservation.class, ReservationDto.class, ReservationDto.LIST_COLUMNS,
+            spec, keyset.sort("reservationId"), keyset.fetchSize());
+        return keyset.page(rows, ReservationDto::getReservationId);
+    }
+
+    /**
+     * Streams every reservation with an id above {@code afterId} in id order. Rows are detached
+     * in batches as they are written, so heap use stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportReservations(Long afterId, ExportSink<Reservation> sink) throws IOException {
+        try (Stream<Reservation> rows = reservationRepository.streamAfter(afterId)) {
+            Iterator<Reservation> it = rows.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                sink.accept(it.next());
+                if (++written % EXPORT_DETACH_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     public Reservation getReservationById(Long reservationId) {
         return reservationRepository.findById(reservationId).orElseThrow(() -> new EntityNotFoundException("Reservation not found"));
     }
 
+    /**
+     * Locks the stripes of the reservation's current and new vehicle. The slot taken out of the
+     * calendar is the one of the row this transaction overwrites, read under those locks; if a
+     * concurrent update moved the reservation to another vehicle in the meantime, the stripes
+     * are wrong and the update starts over.
+     */
     public Reservation updateReservation(Long reservationId, Reservation reservationDetails) {
-        Reservation reservation = getReservationById(reservationId);
-        reservation.setCustomerId(reservationDetails.getCustomerId());
-        reservation.setVehicleId(reservationDetails.getVehicleId());
-        reservation.setPickupTime(reservationDetails.getPickupTime());
-        reservation.setPickupLocation(reservationDetails.getPickupLocation());
-        reservation.setDropoffLocation(reservationDetails.getDropoffLocation());
-        reservation.setStatus(reservationDetails.getStatus());
-        return reservationRepository.save(reservation);
+        applyDefaultDropoff(reservationDetails);
+        while (true) {
+            Reservation updated = tryUpdate(reservationId, getReservationById(reservationId).getVehicleId(), reservationDetails);
+            if (updated != null) {
+                return updated;
+            }
+        }
+    }
+
+    /** Returns {@code null} without writing if the reservation no longer belongs to {@code oldVehicleId}. */
+    private Reservation tryUpdate(Long reservationId, Long oldVehicleId, Reservation reservationDetails) {
+        Long newVehicleId = reservationDetails.getVehicleId();
+        long first = oldVehicleId != null ? oldVehicleId : (newVehicleId != null ? newVehicleId : 0L);
+        long second = newVehicleId != null ? newVehicleId : first;
+        return availabilityIndex.locks().withLocks(first, second, () -> {
+            boolean occupies = occupiesVehicle(reservationDetails);
+            if (occupies) {
+                requireAvailable(reservationDetails, reservationId);
+            }
+            Slot[] previous = new Slot[1];
+            Reservation updated = transactionTemplate.execute(tx -> {
+                if (occupies) {
+                    guardAgainstOverlap(reservationDetails, reservationId);
+                }
+                Reservation reservation = reservationRepository.lockById(reservationId)
+                    .orElseThrow(() -> new EntityNotFoundException("Reservation not found"));
+                if (!Objects.equals(reservation.getVehicleId(), oldVehicleId)) {
+                    return null;
+                }
+                previous[0] = Slot.of(reservation);
+                reservation.setCustomerId(reservationDetails.getCustomerId());
+                reservation.setVehicleId(reservationDetails.getVehicleId());
+                reservation.setPickupTime(reservationDetails.getPickupTime());
+                reservation.setDropoffTime(reservationDetails.getDropoffTime());
+                reservation.setPickupLocation(reservationDetails.getPickupLocation());
+                reservation.setDropoffLocation(reservationDetails.getDropoffLocation());
+                reservation.setStatus(reservationDetails.getStatus());
+                reservation.setPickupLatitude(reservationDetails.getPickupLatitude());
+                reservation.setPickupLongitude(reservationDetails.getPickupLongitude());
+                return reservationRepository.save(reservation);
+            });
+            if (updated == null) {
+                return null;
+            }
+            if (previous[0] != null) {
+                availabilityIndex.remove(previous[0]);
+            }
+            Slot next = Slot.of(updated);
+            if (next != null) {
+                availabilityIndex.add(next);
+            }
+            return updated;
+        });
+    }
+
+    /** Moves the reservation to another vehicle, with the same locking and overlap checks as {@link #updateReservation}. */
+    public Reservation assignVehicle(Long reservationId, Long vehicleId) {
+        Reservation current = getReservationById(reservationId);
+        Reservation details = new Reservation();
+        details.setCustomerId(current.getCustomerId());
+        details.setVehicleId(vehicleId);
+        details.setPickupTime(current.getPickupTime());
+        details.setDropoffTime(current.getDropoffTime());
+        details.setPickupLocation(current.getPickupLocation());
+        details.setDropoffLocation(current.getDropoffLocation());
+        details.setStatus(current.getStatus());
+        details.setPickupLatitude(current.getPickupLatitude());
+        details.setPickupLongitude(current.getPickupLongitude());
+        return updateReservation(reservationId, details);
     }
 
     public void deleteReservation(Long reservationId) {
         Reservation reservation = getReservationById(reservationId);
-        reservationRepository.delete(reservation);
+        Slot slot = Slot.of(reservation);
+        if (slot == null) {
+            reservationRepository.delete(reservation);
+            return;
+        }
+        availabilityIndex.locks().withLock(slot.vehicleId(), () -> {
+            reservationRepository.delete(reservation);
+            availabilityIndex.remove(slot);
+            return null;
+        });
+    }
+
+    /** Counts the request towards demand even if the booking then fails: a rejected request is still demand. */
+    private void recordRequest(Reservation reservation) {
+        if (reservation.getVehicleId() != null) {
+            demandTracker.recordRequest(fleetIndex.typeOf(reservation.getVehicleId()),
+                reservation.getPickupLatitude(), reservation.getPickupLongitude());
+        }
+    }
+
+    private void applyDefaultDropoff(Reservation reservation) {
+        if (reservation.getPickupTime() == null) {
+            return;
+        }
+        if (reservation.getDropoffTime() == null) {
+            reservation.setDropoffTime(reservation.getPickupTime().plus(defaultDuration));
+        } else if (!reservation.getDropoffTime().isAfter(reservation.getPickupTime())) {
+            throw new IllegalArgumentException("dropoffTime must be after pickupTime");
+        }
+    }
+
+    private boolean occupiesVehicle(Reservation reservation) {
+        return reservation.getVehicleId() != null && reservation.getPickupTime() != null
+            && !VehicleAvailabilityIndex.CANCELLED.equalsIgnoreCase(reservation.getStatus());
+    }
+
+    private void requireAvailable(Reservation reservation, Long ignoreReservationId) {
+        long start = reservation.getPickupTime().toInstant().toEpochMilli();
+        long end = reservation.getDropoffTime().toInstant().toEpochMilli();
+        if (!availabilityIndex.isFree(reservation.getVehicleId(), start, end, ignoreReservationId)) {
+            throw new ReservationConflictException("Vehicle " + reservation.getVehicleId() + " is already booked for the requested time");
+        }
+    }
+
+    private void requireNoOverlaps(List<Reservation> booking, List<Long> vehicleIds) {
+        OffsetDateTime start = booking.stream().map(Reservation::getPickupTime).min(Comparator.naturalOrder()).orElseThrow();
+        OffsetDateTime end = booking.stream().map(Reservation::getDropoffTime).max(Comparator.naturalOrder()).orElseThrow();
+        // slots with reservationId 0 are existing bookings; batch rows are numbered from 1
+        Map<Long, List<Slot>> byVehicle = new HashMap<>();
+        for (ReservationWindow w : reservationRepository.findWindowsOverlapping(vehicleIds, start, end)) {
+            byVehicle.computeIfAbsent(w.vehicleId(), id -> new ArrayList<>())
+                .add(Slot.of(0, w.vehicleId(), w.pickupTime(), w.dropoffTime()));
+        }
+        for (int i = 0; i < booking.size(); i++) {
+            Reservation r = booking.get(i);
+            byVehicle.computeIfAbsent(r.getVehicleId(), id -> new ArrayList<>())
+                .add(Slot.of(i + 1, r.getVehicleId(), r.getPickupTime(), r.getDropoffTime()));
+        }
+        for (List<Slot> slots : byVehicle.values()) {
+            slots.sort(Comparator.comparingLong(Slot::start));
+            // sweep by start: a batch row conflicts with anything still open, an existing booking
+            // only with open batch rows (overlaps among existing bookings are not ours to reject)
+            long openUntil = Long.MIN_VALUE;
+            long batchOpenUntil = Long.MIN_VALUE;
+            for (Slot slot : slots) {
+                boolean fromBatch = slot.reservationId() != 0;
+                if (slot.start() < (fromBatch ? openUntil : batchOpenUntil)) {
+                    throw new ReservationConflictException("Vehicle " + slot.vehicleId() + " is already booked for the requested time");
+                }
+                openUntil = Math.max(openUntil, slot.end());
+                if (fromBatch) {
+                    batchOpenUntil = Math.max(batchOpenUntil, slot.end());
+                }
+            }
+        }
+    }
+
+    private void guardAgainstOverlap(Reservation reservation, Long excludeReservationId) {
+        vehicleRepository.lockById(reservation.getVehicleId()).orElseThrow(() -> new EntityNotFoundException("Vehicle not found"));
+        if (reservationRepository.existsOverlapping(reservation.getVehicleId(), reservation.getPickupTime(),
+                reservation.getDropoffTime(), excludeReservationId)) {
+            throw new ReservationConflictException("Vehicle " + reservation.getVehicleId() + " is already booked for the requested time");
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.af.carrsvt.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event count over the last {@code buckets * bucketMillis}, without locks. Each cell packs a
+ * bucket epoch (upper {@value #EPOCH_BITS} bits) and a count (the rest) into one long, so a
+ * writer that lands in a bucket last used a full window ago resets it with the same CAS that
+ * adds its delta, and a reader simply skips cells whose epoch has aged out. Writers are spread
+ * over {@code stripes} rows of cells by thread, as in {@code LongAdder}; each row holds all
+ * buckets of one stripe, which keeps different threads on different cache lines.
+ */
+public class SlidingWindowCounter {
+
+    static final int EPOCH_BITS = 24;
+    private static final int COUNT_BITS = Long.SIZE - EPOCH_BITS;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long EPOCH_MASK = (1L << EPOCH_BITS) - 1;
+
+    private final int buckets;
+    private final long bucketMillis;
+    private final int stripeMask;
+    private final AtomicLongArray cells;
+
+    /** {@code stripes} is rounded up to a power of two. */
+    public SlidingWindowCounter(int buckets, long bucketMillis, int stripes) {
+        if (buckets < 1 || bucketMillis < 1) {
+            throw new IllegalArgumentException("buckets and bucketMillis must be positive");
+        }
+        int rows = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.stripeMask = rows - 1;
+        this.cells = new AtomicLongArray(rows * buckets);
+    }
+
+    /** Adds a non-negative {@code delta} to the bucket of {@code nowMillis}. */
+    public void add(long delta, long nowMillis) {
+        if (delta < 0) {
+            throw new IllegalArgumentException("delta must not be negative");
+        }
+        long epoch = (nowMillis / bucketMillis) & EPOCH_MASK;
+        int stripe = (int) mix(Thread.currentThread().threadId()) & stripeMask;
+        int index = stripe * buckets + (int) ((nowMillis / bucketMillis) % buckets);
+        while (true) {
+            long cell = cells.get(index);
+            long next = (cell >>> COUNT_BITS) == epoch
+                ? cell + delta
+                : (epoch << COUNT_BITS) | (delta & COUNT_MASK);
+            if (cells.compareAndSet(index, cell, next)) {
+                return;
+            }
+        }
+    }
+
+    /** Sum over the window ending at {@code nowMillis}. */
+    public long sum(long nowMillis) {
+        long current = (nowMillis / bucketMillis) & EPOCH_MASK;
+        long total = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            long cell = cells.get(i);
+            long age = (current - (cell >>> COUNT_BITS)) & EPOCH_MASK;
+            if (age < buckets && cell != 0) {
+                total += cell & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
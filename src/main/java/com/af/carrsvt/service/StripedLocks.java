@@ -0,0 +1,81 @@
+package com.af.carrsvt.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed array of locks addressed by a hash of a numeric key. Keys that share a
+ * stripe serialize against each other; everything else proceeds in parallel without
+ * allocating a lock per key.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two");
+        }
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+    }
+
+    public <T> T withLock(long key, Supplier<T> action) {
+        ReentrantLock lock = locks[stripe(key)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Holds the stripes of both keys, acquired in stripe order so concurrent callers cannot deadlock. */
+    public <T> T withLocks(long first, long second, Supplier<T> action) {
+        int a = stripe(first);
+        int b = stripe(second);
+        if (a == b) {
+            return withLock(first, action);
+        }
+        ReentrantLock lower = locks[Math.min(a, b)];
+        ReentrantLock upper = locks[Math.max(a, b)];
+        lower.lock();
+        try {
+            upper.lock();
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    /** Holds the stripes of every key, acquired in ascending stripe order like {@link #withLocks}. */
+    public <T> T withAllLocks(long[] keys, Supplier<T> action) {
+        int[] stripes = Arrays.stream(keys).mapToInt(this::stripe).distinct().sorted().toArray();
+        int held = 0;
+        try {
+            for (int s : stripes) {
+                locks[s].lock();
+                held++;
+            }
+            return action.get();
+        } finally {
+            for (int i = held - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripe(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
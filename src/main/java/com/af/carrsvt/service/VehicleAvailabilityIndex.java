@@ -0,0 +1,124 @@
+package com.af.carrsvt.service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.repository.ReservationRepository;
+import com.af.carrsvt.repository.ReservationWindow;
+
+/**
+ * In-memory booking calendar per vehicle. Each vehicle's bookings are disjoint
+ * half-open intervals {@code [pickup, dropoff)} kept in a skip list ordered by start,
+ * so "is vehicle X free in [t1, t2)" is a single {@code lowerEntry} lookup: only the
+ * last booking starting before {@code t2} can overlap.
+ *
+ * <p>Writers must hold the vehicle's stripe from {@link #locks()}; readers never lock.
+ * The index is local to this node and is a fast path only: {@link ReservationService}
+ * re-checks every booking against the database under a vehicle row lock.
+ */
+@Component
+public class VehicleAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleAvailabilityIndex.class);
+
+    public static final String CANCELLED = "CANCELLED";
+
+    private final Map<Long, ConcurrentSkipListMap<Long, Slot>> calendars = new ConcurrentHashMap<>();
+    private final StripedLocks locks = new StripedLocks(1024);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    /** A booked interval in epoch millis. Legacy rows without a dropoff time occupy a single instant. */
+    public record Slot(long reservationId, long vehicleId, long start, long end) {
+
+        public static Slot of(Reservation reservation) {
+            if (reservation.getReservationId() == null || reservation.getVehicleId() == null
+                    || reservation.getPickupTime() == null || CANCELLED.equalsIgnoreCase(reservation.getStatus())) {
+                return null;
+            }
+            return of(reservation.getReservationId(), reservation.getVehicleId(), reservation.getPickupTime(), reservation.getDropoffTime());
+        }
+
+        static Slot of(long reservationId, long vehicleId, OffsetDateTime pickup, OffsetDateTime dropoff) {
+            long start = pickup.toInstant().toEpochMilli();
+            long end = dropoff == null ? start + 1 : dropoff.toInstant().toEpochMilli();
+            return new Slot(reservationId, vehicleId, start, end);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<ReservationWindow> windows = reservationRepository.findActiveWindows(OffsetDateTime.now());
+        int skipped = 0;
+        for (ReservationWindow w : windows) {
+            Slot slot = Slot.of(w.reservationId(), w.vehicleId(), w.pickupTime(), w.dropoffTime());
+            boolean added = locks.withLock(slot.vehicleId(), () -> {
+                if (!isFree(slot.vehicleId(), slot.start(), slot.end(), slot.reservationId())) {
+                    return false;
+                }
+                add(slot);
+                return true;
+            });
+            if (!added) {
+                skipped++;
+                log.warn("Reservation {} overlaps another booking of vehicle {}; not indexed", slot.reservationId(), slot.vehicleId());
+            }
+        }
+        log.info("Availability index warmed with {} bookings ({} overlapping skipped)", windows.size() - skipped, skipped);
+    }
+
+    public StripedLocks locks() {
+        return locks;
+    }
+
+    public boolean isFree(long vehicleId, OffsetDateTime start, OffsetDateTime end) {
+        return isFree(vehicleId, start.toInstant().toEpochMilli(), end.toInstant().toEpochMilli(), null);
+    }
+
+    /** True when no booking other than {@code ignoreReservationId} overlaps {@code [start, end)}. */
+    public boolean isFree(long vehicleId, long start, long end, Long ignoreReservationId) {
+        ConcurrentSkipListMap<Long, Slot> calendar = calendars.get(vehicleId);
+        if (calendar == null) {
+            return true;
+        }
+        Map.Entry<Long, Slot> candidate = calendar.lowerEntry(end);
+        if (candidate != null && ignoreReservationId != null && candidate.getValue().reservationId() == ignoreReservationId) {
+            candidate = calendar.lowerEntry(candidate.getKey());
+        }
+        return candidate == null || candidate.getValue().end() <= start;
+    }
+
+    public void add(Slot slot) {
+        calendars.computeIfAbsent(slot.vehicleId(), id -> new ConcurrentSkipListMap<>()).put(slot.start(), slot);
+    }
+
+    public void remove(Slot slot) {
+        ConcurrentSkipListMap<Long, Slot> calendar = calendars.get(slot.vehicleId());
+        if (calendar != null) {
+            calendar.remove(slot.start(), slot);
+        }
+    }
+
+    /** Drops bookings that have already ended so the calendars don't grow without bound. */
+    @Scheduled(fixedDelayString = "${availability.eviction-interval:PT1H}")
+    public void evictPast() {
+        long cutoffMillis = System.currentTimeMillis();
+        calendars.forEach((vehicleId, calendar) -> locks.withLock(vehicleId, () -> {
+            calendar.headMap(cutoffMillis).values().removeIf(slot -> slot.end() <= cutoffMillis);
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,336 @@
+package com.af.carrsvt.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongPredicate;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Latest known position of every vehicle on the road, in a uniform grid of
+ * {@value #CELL_DEGREES}-degree cells (about 1.1 km north-south). Coordinates live in
+ * parallel primitive arrays indexed by slot, and each cell holds the slots inside it, so a
+ * position update overwrites two doubles and, only when the vehicle crosses into another
+ * cell, swap-removes the slot from the old cell's array.
+ *
+ * <p>A nearest-neighbour query walks rings of cells outward from the query point and stops
+ * once no unvisited ring can hold anything closer than the k-th candidate found so far. A ring
+ * is one cell deeper in latitude and as many cells wider in longitude as make up the same
+ * distance, so its cost does not grow as longitude cells narrow towards the poles.
+ * Distances are equirectangular, which is accurate to well under 1% at city scale; longitude
+ * wrap-around at the antimeridian is not handled.
+ */
+@Component
+public class VehicleLocationIndex {
+
+    static final double CELL_DEGREES = 0.01;
+    private static final double KM_PER_DEGREE_LAT = 110.574;
+    private static final double KM_PER_DEGREE_LON = 111.320;
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    /** A vehicle and its distance from the query point. */
+    public record Nearby(long vehicleId, double distanceKm) {
+    }
+
+    private static final class Cell {
+        int[] slots = new int[4];
+        int size;
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<Long, Integer> slotsByVehicle = new HashMap<>();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private long[] vehicleIds = new long[1024];
+    private double[] latitudes = new double[1024];
+    private double[] longitudes = new double[1024];
+    private long[] cellKeys = new long[1024];
+    private int[] positionsInCell = new int[1024];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int size;
+
+    /** Throws {@link IllegalArgumentException} unless the point is within -90..90, -180..180. */
+    public static void checkCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + "," + longitude);
+        }
+    }
+
+    public void update(long vehicleId, double latitude, double longitude) {
+        checkCoordinates(latitude, longitude);
+        long cellKey = cellKey(latitude, longitude);
+        long stamp = lock.writeLock();
+        try {
+            Integer existing = slotsByVehicle.get(vehicleId);
+            int slot;
+            if (existing == null) {
+                slot = allocateSlot();
+                vehicleIds[slot] = vehicleId;
+                slotsByVehicle.put(vehicleId, slot);
+                addToCell(cellKey, slot);
+            } else {
+                slot = existing;
+                if (cellKeys[slot] != cellKey) {
+                    removeFromCell(slot);
+                    addToCell(cellKey, slot);
+                }
+            }
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long vehicleId) {
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slotsByVehicle.remove(vehicleId);
+            if (slot == null) {
+                return;
+            }
+            removeFromCell(slot);
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** {@code [latitude, longitude]} of the vehicle, or {@code null} if it has not reported a position. */
+    public double[] position(long vehicleId) {
+        long stamp = lock.readLock();
+        try {
+            Integer slot = slotsByVehicle.get(vehicleId);
+            return slot == null ? null : new double[] {latitudes[slot], longitudes[slot]};
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return slotsByVehicle.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Up to {@code k} vehicles within {@code maxDistanceKm} of the point that pass {@code filter},
+     * nearest first. The filter runs under the read lock and must not call back into this index.
+     */
+    public List<Nearby> nearest(double latitude, double longitude, int k, double maxDistanceKm, LongPredicate filter) {
+        checkCoordinates(latitude, longitude);
+        if (k < 1) {
+            return List.of();
+        }
+        double lonScale = KM_PER_DEGREE_LON * Math.cos(Math.toRadians(latitude));
+        double latCellKm = CELL_DEGREES * KM_PER_DEGREE_LAT;
+        // each ring adds one cell of latitude and enough cells of longitude to cover the same
+        // distance, so rings stay round in kilometres as cells narrow towards the poles
+        int lonCellsPerRing = lonScale * CELL_DEGREES >= latCellKm ? 1
+            : (int) Math.min(LON_CELLS, Math.ceil(latCellKm / Math.max(1e-12, lonScale * CELL_DEGREES)));
+        int maxRing = (int) Math.ceil(maxDistanceKm / latCellKm) + 1;
+        int centerLat = cellIndex(latitude);
+        int centerLon = cellIndex(longitude);
+        int minLat = cellIndex(-90) - centerLat;
+        int maxLat = cellIndex(90) - centerLat;
+        int minLon = cellIndex(-180) - centerLon;
+        int maxLon = cellIndex(180) - centerLon;
+        Search search = new Search(latitude, longitude, lonScale, maxDistanceKm, k, filter);
+
+        long stamp = lock.readLock();
+        try {
+            // never more than the 360 degrees of longitude there are
+            long reach = Math.min((long) maxRing * lonCellsPerRing, LON_CELLS);
+            long area = (Math.min(maxRing, maxLat) - Math.max(-maxRing, minLat) + 1L)
+                * (Math.min(reach, maxLon) - Math.max(-reach, minLon) + 1L);
+            if (area > cells.size()) {
+                // near the poles the search area can hold more cells than are occupied
+                for (Cell cell : cells.values()) {
+                    search.scan(cell);
+                }
+                return search.result();
+            }
+            int previousLonReach = -1;
+            for (int ring = 0; ring <= maxRing; ring++) {
+                if (search.found == k) {
+                    // anything not yet visited is at least ring - 1 cells of latitude (or as many km of longitude) away
+                    double bound = (ring - 1) * latCellKm;
+                    if (bound > 0 && bound * bound > search.heapDist[0]) {
+                        break;
+                    }
+                }
+                int lonReach = (int) Math.min((long) ring * lonCellsPerRing, LON_CELLS);
+                for (int dLat = Math.max(-ring, minLat); dLat <= Math.min(ring, maxLat); dLat++) {
+                    boolean edgeRow = dLat == -ring || dLat == ring;
+                    int to = Math.min(lonReach, maxLon);
+                    for (int dLon = Math.max(-lonReach, minLon); dLon <= to; dLon++) {
+                        if (!edgeRow && dLon >= -previousLonReach && dLon <= previousLonReach) {
+                            // inside the previous ring: jump to its far side
+                            dLon = previousLonReach;
+                            continue;
+                        }
+                        Cell cell = cells.get(cellKey(centerLat + dLat, centerLon + dLon));
+                        if (cell != null) {
+                            search.scan(cell);
+                        }
+                    }
+                }
+                previousLonReach = lonReach;
+            }
+            return search.result();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** One query's best k so far, in a max-heap on squared distance. Runs under the read lock. */
+    private final class Search {
+        final double latitude;
+        final double longitude;
+        final double lonScale;
+        final double maxSq;
+        final int k;
+        final LongPredicate filter;
+        final double[] heapDist;
+        final long[] heapIds;
+        int found;
+
+        Search(double latitude, double longitude, double lonScale, double maxDistanceKm, int k, LongPredicate filter) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.lonScale = lonScale;
+            this.maxSq = maxDistanceKm * maxDistanceKm;
+            this.k = k;
+            this.filter = filter;
+            this.heapDist = new double[k];
+            this.heapIds = new long[k];
+        }
+
+        void scan(Cell cell) {
+            for (int i = 0; i < cell.size; i++) {
+                int slot = cell.slots[i];
+                double dy = (latitudes[slot] - latitude) * KM_PER_DEGREE_LAT;
+                double dx = (longitudes[slot] - longitude) * lonScale;
+                double distSq = dx * dx + dy * dy;
+                if (distSq > maxSq || (found == k && distSq >= heapDist[0])) {
+                    continue;
+                }
+                if (!filter.test(vehicleIds[slot])) {
+                    continue;
+                }
+                if (found < k) {
+                    siftUp(heapDist, heapIds, found++, distSq, vehicleIds[slot]);
+                } else {
+                    siftDown(heapDist, heapIds, k, distSq, vehicleIds[slot]);
+                }
+            }
+        }
+
+        List<Nearby> result() {
+            Integer[] order = new Integer[found];
+            for (int i = 0; i < found; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(heapDist[a], heapDist[b]));
+            List<Nearby> result = new ArrayList<>(found);
+            for (int i : order) {
+                result.add(new Nearby(heapIds[i], Math.sqrt(heapDist[i])));
+            }
+            return result;
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (size == vehicleIds.length) {
+            int capacity = size * 2;
+            vehicleIds = Arrays.copyOf(vehicleIds, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            cellKeys = Arrays.copyOf(cellKeys, capacity);
+            positionsInCell = Arrays.copyOf(positionsInCell, capacity);
+        }
+        return size++;
+    }
+
+    private void addToCell(long cellKey, int slot) {
+        Cell cell = cells.computeIfAbsent(cellKey, key -> new Cell());
+        if (cell.size == cell.slots.length) {
+            cell.slots = Arrays.copyOf(cell.slots, cell.size * 2);
+        }
+        positionsInCell[slot] = cell.size;
+        cell.slots[cell.size++] = slot;
+        cellKeys[slot] = cellKey;
+    }
+
+    private void removeFromCell(int slot) {
+        Cell cell = cells.get(cellKeys[slot]);
+        int position = positionsInCell[slot];
+        int last = cell.slots[--cell.size];
+        cell.slots[position] = last;
+        positionsInCell[last] = position;
+        if (cell.size == 0) {
+            cells.remove(cellKeys[slot]);
+        }
+    }
+
+    private static void siftUp(double[] dist, long[] ids, int index, double d, long id) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (dist[parent] >= d) {
+                break;
+            }
+            dist[index] = dist[parent];
+            ids[index] = ids[parent];
+            index = parent;
+        }
+        dist[index] = d;
+        ids[index] = id;
+    }
+
+    /** Replaces the root (the current worst) with {@code d} and restores the heap. */
+    private static void siftDown(double[] dist, long[] ids, int size, double d, long id) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && dist[child + 1] > dist[child]) {
+                child++;
+            }
+            if (dist[child] <= d) {
+                break;
+            }
+            dist[index] = dist[child];
+            ids[index] = ids[child];
+            index = child;
+        }
+        dist[index] = d;
+        ids[index] = id;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return cellKey(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+}
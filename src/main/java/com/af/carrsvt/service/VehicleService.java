@@ -1,43 +1,115 @@
 package com.af.carrsvt.service;
 
+import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.af.carrsvt.dto.VehicleDto;
 import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.repository.FilterSpecifications;
+import com.af.carrsvt.repository.ProjectionQueries;
 import com.af.carrsvt.repository.VehicleRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 public class VehicleService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private ProjectionQueries projectionQueries;
+
+    @Autowired
+    private FleetIndex fleetIndex;
+
+    @Autowired
+    private VehicleLocationIndex locationIndex;
+
+    @Autowired
+    private DemandTracker demandTracker;
+
+    @Autowired
+    private BulkPersister bulkPersister;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public Vehicle saveVehicle(Vehicle vehicle) {
-        return vehicleRepository.save(vehicle);
+        Vehicle saved = vehicleRepository.save(vehicle);
+        fleetIndex.put(saved.getVehicleId(), saved.getDriverId(), saved.getVehicleType(), saved.getStatus());
+        return saved;
     }
 
-    public List<Vehicle> getAllVehicles() {
-        return vehicleRepository.findAll();
+    /** Inserts all vehicles in one transaction using batched inserts; the fleet index is updated after commit. */
+    public List<Vehicle> saveVehicles(List<Vehicle> vehicles) {
+        vehicles.forEach(v -> v.setVehicleId(null));
+        List<Vehicle> saved = transactionTemplate.execute(tx -> bulkPersister.persistAll(vehicles));
+        saved.forEach(v -> fleetIndex.put(v.getVehicleId(), v.getDriverId(), v.getVehicleType(), v.getStatus()));
+        return saved;
     }
 
+    public KeysetPage<VehicleDto> getVehicles(String vehicleType, String status, Long driverId, Keyset keyset) {
+        Specification<Vehicle> spec = keyset.<Vehicle>seek("vehicleId")
+            .and(FilterSpecifications.equalTo("vehicleType", vehicleType))
+            .and(FilterSpecifications.equalTo("status", status))
+            .and(FilterSpecifications.equalTo("driverId", driverId));
+        List<VehicleDto> rows = projectionQueries.findAll(Vehicle.class, VehicleDto.class, VehicleDto.LIST_COLUMNS,
+            spec, keyset.sort("vehicleId"), keyset.fetchSize());
+        return keyset.page(rows, VehicleDto::getVehicleId);
+    }
+
+    @Cacheable(cacheNames = CacheNames.VEHICLES, key = "#vehicleId")
     public Vehicle getVehicleById(Long vehicleId) {
         return vehicleRepository.findById(vehicleId).orElseThrow(() -> new EntityNotFoundException("Vehicle not found"));
     }
 
+    @CacheEvict(cacheNames = CacheNames.VEHICLES, key = "#vehicleId")
     public Vehicle updateVehicle(Long vehicleId, Vehicle vehicleDetails) {
         Vehicle vehicle = getVehicleById(vehicleId);
         vehicle.setDriverId(vehicleDetails.getDriverId());
         vehicle.setVehicleType(vehicleDetails.getVehicleType());
         vehicle.setLicensePlate(vehicleDetails.getLicensePlate());
         vehicle.setStatus(vehicleDetails.getStatus());
-        return vehicleRepository.save(vehicle);
+        Vehicle saved = vehicleRepository.save(vehicle);
+        fleetIndex.put(saved.getVehicleId(), saved.getDriverId(), saved.getVehicleType(), saved.getStatus());
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheNames.VEHICLES, key = "#vehicleId")
     public void deleteVehicle(Long vehicleId) {
         Vehicle vehicle = getVehicleById(vehicleId);
         vehicleRepository.delete(vehicle);
+        fleetIndex.remove(vehicleId);
+        locationIndex.remove(vehicleId);
+    }
+
+    /** Vehicles of the given type and status with no booking overlapping {@code [from, to)}, in fleet-index order. */
+    public List<Vehicle> findAvailableVehicles(String vehicleType, String status, OffsetDateTime from, OffsetDateTime to, int limit) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        long[] ids = fleetIndex.findAvailable(vehicleType, status, from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli(), limit);
+        demandTracker.recordSearch(vehicleType, null, null, ids.length);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Vehicle> byId = vehicleRepository.findAllById(idList).stream()
+            .collect(Collectors.toMap(Vehicle::getVehicleId, Function.identity()));
+        return idList.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 }
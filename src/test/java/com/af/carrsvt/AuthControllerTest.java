@@ -0,0 +1,85 @@
+package com.af.carrsvt;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.af.carrsvt.controller.AuthController;
+import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.exception.GlobalExceptionHandler;
+import com.af.carrsvt.security.CustomerUserDetails;
+import com.af.carrsvt.security.TokenService;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private AuthController authController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void login_shouldReturnBearerToken() throws Exception {
+        Customer customer = new Customer();
+        customer.setCustomerId(7L);
+        customer.setUsername("abah");
+        CustomerUserDetails principal = new CustomerUserDetails(customer);
+        Authentication authenticated = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+
+        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authenticated);
+        when(tokenService.issue(7L, "abah")).thenReturn("signed-token");
+        when(tokenService.ttl()).thenReturn(Duration.ofHours(1));
+
+        mockMvc.perform(post("/api/auth/login")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content("{\"username\":\"abah\",\"password\":\"secret\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accessToken").value("signed-token"))
+            .andExpect(jsonPath("$.tokenType").value("Bearer"))
+            .andExpect(jsonPath("$.expiresIn").value(3600))
+            .andExpect(jsonPath("$.customerId").value(7L));
+    }
+
+    @Test
+    void login_shouldReturnUnauthorized_whenPasswordWrong() throws Exception {
+        when(authenticationManager.authenticate(any(Authentication.class))).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        mockMvc.perform(post("/api/auth/login")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content("{\"username\":\"abah\",\"password\":\"wrong\"}"))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.status").value(401));
+    }
+}
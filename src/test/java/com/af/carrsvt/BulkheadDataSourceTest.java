@@ -0,0 +1,108 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.config.BulkheadDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofMillis(20));
+
+    @Test
+    void getConnection_shouldFailFast_whenAllPermitsHeld() throws Exception {
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+
+        Connection held = bulkhead.getConnection();
+
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnOtherThread());
+        held.close();
+        assertNull(connectOnOtherThread());
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_shouldShareThePermit_whenThreadAlreadyHoldsOne() throws Exception {
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+
+        Connection outer = bulkhead.getConnection();
+        Connection nested = bulkhead.getConnection();
+        nested.close();
+
+        assertEquals(0, bulkhead.getAvailablePermits());
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnOtherThread());
+        outer.close();
+        assertEquals(1, bulkhead.getAvailablePermits());
+        assertNull(connectOnOtherThread());
+    }
+
+    @Test
+    void close_shouldReleasePermitOnce() throws SQLException {
+        Connection physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(physical);
+
+        Connection connection = bulkhead.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(1, bulkhead.getAvailablePermits());
+        verify(physical, times(2)).close();
+    }
+
+    @Test
+    void getConnection_shouldReturnPermit_whenPoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void bindTo_shouldRecordWaitsAndRejections() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bulkhead.bindTo(registry);
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+
+        Connection held = bulkhead.getConnection();
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnOtherThread());
+        held.close();
+
+        assertEquals(2, registry.get("datasource.bulkhead.wait").timer().count());
+        assertEquals(1.0, registry.get("datasource.bulkhead.rejected").counter().count());
+        assertEquals(1.0, registry.get("datasource.bulkhead.available").gauge().value());
+    }
+
+    /** Opens and closes a connection on a fresh thread; returns what it threw, or {@code null}. */
+    private Throwable connectOnOtherThread() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                bulkhead.getConnection().close();
+            } catch (Throwable ex) {
+                failure.set(ex);
+            }
+        });
+        thread.start();
+        thread.join();
+        return failure.get();
+    }
+}
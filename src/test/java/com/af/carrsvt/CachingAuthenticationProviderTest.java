@@ -0,0 +1,75 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import com.af.carrsvt.security.CachingAuthenticationProvider;
+import com.af.carrsvt.security.CredentialCache;
+
+class CachingAuthenticationProviderTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private UserDetailsService userDetailsService;
+    private DaoAuthenticationProvider daoProvider;
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = spy(new InMemoryUserDetailsManager(
+            User.withUsername("abah").password(encoder.encode("secret")).roles("USER").build()));
+        daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(userDetailsService);
+        daoProvider.setPasswordEncoder(encoder);
+        credentialCache = new CredentialCache(Duration.ofMinutes(5), 100);
+        provider = new CachingAuthenticationProvider(daoProvider, credentialCache);
+    }
+
+    @Test
+    void authenticate_shouldSkipLookupForRepeatedCredentials() {
+        Authentication first = provider.authenticate(token("abah", "secret"));
+        Authentication second = provider.authenticate(token("abah", "secret"));
+
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        verify(userDetailsService, times(1)).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void authenticate_shouldRejectDifferentSecretForCachedUser() {
+        provider.authenticate(token("abah", "secret"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("abah", "wrong")));
+    }
+
+    @Test
+    void invalidate_shouldForceFullAuthentication() {
+        provider.authenticate(token("abah", "secret"));
+        credentialCache.invalidate("abah");
+        provider.authenticate(token("abah", "secret"));
+
+        verify(userDetailsService, times(2)).loadUserByUsername(anyString());
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,121 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.service.DemandTracker;
+import com.af.carrsvt.service.DemandTracker.Demand;
+import com.af.carrsvt.service.FleetIndex;
+
+class DemandTrackerTest {
+
+    private static final double LAT = -6.2000;
+    private static final double LON = 106.8166;
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    private final FleetIndex fleetIndex = new FleetIndex();
+    private final DemandTracker tracker = new DemandTracker(Duration.ofMinutes(15), 15, 0.05, 1.0, 0.25, 2.0, 5_000);
+
+    @BeforeEach
+    void setUp() {
+        fleetIndex.put(1L, null, "SUV", "AVAILABLE");
+        fleetIndex.put(2L, null, "Sedan", "AVAILABLE");
+        ReflectionTestUtils.setField(tracker, "fleetIndex", fleetIndex);
+        at(NOW);
+    }
+
+    @Test
+    void surge_shouldRiseWithRequestsPerVehicleOffered() {
+        tracker.recordSearch("SUV", LAT, LON, 2);
+        tracker.recordSearch("SUV", LAT, LON, 2);
+        for (int i = 0; i < 12; i++) {
+            tracker.recordRequest("suv", LAT, LON);
+        }
+
+        // 6 requests per search against 2 vehicles offered per search: 1 + 0.25 * (3 - 1)
+        assertEquals(1.5, tracker.surge("SUV", LAT + 0.01, LON - 0.01));
+        assertEquals(1.0, tracker.surge("SUV", null, null));
+        assertEquals(1.0, tracker.surge("SUV", LAT + 1, LON));
+        assertEquals(1.0, tracker.surge("Sedan", LAT, LON));
+    }
+
+    @Test
+    void surge_shouldNotGrowWithTrafficAlone() {
+        for (int i = 0; i < 1_000; i++) {
+            tracker.recordSearch("SUV", LAT, LON, 5);
+            tracker.recordRequest("SUV", LAT, LON);
+        }
+
+        assertEquals(1.0, tracker.surge("SUV", LAT, LON));
+    }
+
+    @Test
+    void surge_shouldBeCappedAndIgnoreRequestsInUnsearchedAreas() {
+        for (int i = 0; i < 100; i++) {
+            tracker.recordRequest("SUV", LAT, LON);
+        }
+        tracker.recordSearch("SUV", LAT, LON, 0);
+        assertEquals(1.0, tracker.surge("SUV", LAT, LON));
+
+        for (int i = 0; i < 100; i++) {
+            tracker.recordRequest("SUV", LAT, LON);
+        }
+        assertEquals(2.0, tracker.surge("SUV", LAT, LON));
+    }
+
+    @Test
+    void record_shouldIgnoreUnknownTypesAndStopAddingAreasAtTheCap() {
+        DemandTracker capped = new DemandTracker(Duration.ofMinutes(15), 15, 0.05, 1.0, 0.25, 2.0, 3);
+        ReflectionTestUtils.setField(capped, "fleetIndex", fleetIndex);
+
+        capped.recordSearch("HOVERCRAFT", LAT, LON, 1);
+        capped.recordRequest("HOVERCRAFT", LAT, LON);
+        for (int i = 0; i < 10; i++) {
+            capped.recordSearch("SUV", LAT + i, LON, 1);
+        }
+
+        // the SUV total plus two areas
+        assertEquals(3, capped.snapshot(null).size());
+        assertEquals(List.of(), capped.snapshot("HOVERCRAFT"));
+    }
+
+    @Test
+    void snapshot_shouldSeparateAreasFromTypeTotalsAndForgetOldEvents() {
+        tracker.recordSearch("SUV", LAT, LON, 3);
+        tracker.recordRequest("SUV", LAT, LON);
+        tracker.recordRequest("SUV", null, null);
+        tracker.recordRequest(null, LAT, LON);
+
+        List<Demand> demand = tracker.snapshot("suv");
+
+        assertEquals(2, demand.size());
+        Demand total = demand.get(0);
+        assertNull(total.latitude());
+        assertEquals(2, total.requests());
+        assertEquals(1, total.searches());
+        assertEquals(3, total.vehiclesOffered());
+        Demand area = demand.get(1);
+        assertEquals(-6.175, area.latitude(), 1e-9);
+        assertEquals(106.825, area.longitude(), 1e-9);
+        assertEquals(1, area.requests());
+        assertEquals(1, area.searches());
+
+        at(NOW.plus(Duration.ofMinutes(15)));
+        tracker.evictIdle();
+        assertEquals(List.of(), tracker.snapshot(null));
+    }
+
+    private void at(Instant instant) {
+        ReflectionTestUtils.setField(tracker, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
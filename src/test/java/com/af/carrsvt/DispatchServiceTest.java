@@ -0,0 +1,155 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.exception.ReservationConflictException;
+import com.af.carrsvt.service.DemandTracker;
+import com.af.carrsvt.service.DispatchService;
+import com.af.carrsvt.service.DispatchService.Dispatch;
+import com.af.carrsvt.service.FleetIndex;
+import com.af.carrsvt.service.ReservationService;
+import com.af.carrsvt.service.VehicleAvailabilityIndex;
+import com.af.carrsvt.service.VehicleAvailabilityIndex.Slot;
+import com.af.carrsvt.service.VehicleLocationIndex;
+import com.af.carrsvt.service.VehicleLocationIndex.Nearby;
+import com.af.carrsvt.service.VehicleService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchServiceTest {
+
+    private static final double LAT = -6.2000;
+    private static final double LON = 106.8166;
+    private static final OffsetDateTime PICKUP = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    private final VehicleLocationIndex locationIndex = new VehicleLocationIndex();
+    private final FleetIndex fleetIndex = new FleetIndex();
+    private final VehicleAvailabilityIndex availabilityIndex = new VehicleAvailabilityIndex();
+    private final DispatchService dispatchService = new DispatchService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fleetIndex, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(dispatchService, "locationIndex", locationIndex);
+        ReflectionTestUtils.setField(dispatchService, "fleetIndex", fleetIndex);
+        ReflectionTestUtils.setField(dispatchService, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(dispatchService, "reservationService", reservationService);
+        ReflectionTestUtils.setField(dispatchService, "vehicleService", vehicleService);
+        DemandTracker demandTracker = new DemandTracker(Duration.ofMinutes(15), 15, 0.05, 1.0, 0.25, 2.0, 5_000);
+        ReflectionTestUtils.setField(demandTracker, "fleetIndex", fleetIndex);
+        ReflectionTestUtils.setField(dispatchService, "demandTracker", demandTracker);
+        ReflectionTestUtils.setField(dispatchService, "maxRadiusKm", 25.0);
+        ReflectionTestUtils.setField(dispatchService, "defaultCandidates", 5);
+        ReflectionTestUtils.setField(dispatchService, "defaultDuration", Duration.ofHours(2));
+
+        fleetIndex.put(1L, null, "SUV", "AVAILABLE");
+        fleetIndex.put(2L, null, "SUV", "AVAILABLE");
+        fleetIndex.put(3L, null, "SUV", "MAINTENANCE");
+        fleetIndex.put(4L, null, "SUV", "AVAILABLE");
+        fleetIndex.put(5L, null, "Sedan", "AVAILABLE");
+        dispatchService.updatePosition(1L, LAT, LON + 0.004);
+        dispatchService.updatePosition(2L, LAT, LON + 0.002);
+        dispatchService.updatePosition(3L, LAT, LON + 0.001);
+        dispatchService.updatePosition(4L, LAT, LON + 0.003);
+        dispatchService.updatePosition(5L, LAT, LON + 0.0005);
+    }
+
+    @Test
+    void findNearest_shouldSkipUnavailableOtherTypesAndBookedVehicles() {
+        availabilityIndex.add(new Slot(20L, 2L, PICKUP.toInstant().toEpochMilli(), PICKUP.plusHours(1).toInstant().toEpochMilli()));
+
+        assertEquals(List.of(2L, 4L, 1L), ids(dispatchService.findNearest(LAT, LON, "suv", null, null, null)));
+        assertEquals(List.of(4L, 1L), ids(dispatchService.findNearest(LAT, LON, "SUV", PICKUP, PICKUP.plusHours(2), null)));
+        assertEquals(List.of(5L, 2L), ids(dispatchService.findNearest(LAT, LON, null, null, null, 2)));
+    }
+
+    @Test
+    void dispatch_shouldFallBackToNextCandidateOnConflict() {
+        when(reservationService.getReservationById(10L)).thenReturn(reservation());
+        when(reservationService.assignVehicle(10L, 2L)).thenThrow(new ReservationConflictException("taken"));
+        Reservation booked = reservation();
+        booked.setVehicleId(4L);
+        when(reservationService.assignVehicle(10L, 4L)).thenReturn(booked);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(4L);
+        vehicle.setDriverId(40L);
+        when(vehicleService.getVehicleById(4L)).thenReturn(vehicle);
+
+        Dispatch dispatch = dispatchService.dispatch(10L, "SUV", null);
+
+        assertEquals(4L, dispatch.vehicle().getVehicleId());
+        assertEquals(40L, dispatch.vehicle().getDriverId());
+        assertEquals(List.of(2L, 4L, 1L), ids(dispatch.candidates()));
+        verify(reservationService, never()).assignVehicle(10L, 1L);
+    }
+
+    @Test
+    void dispatch_shouldConflictWhenNoCandidateCanBeBooked() {
+        when(reservationService.getReservationById(10L)).thenReturn(reservation());
+        when(reservationService.assignVehicle(anyLong(), anyLong())).thenThrow(new ReservationConflictException("taken"));
+
+        assertThrows(ReservationConflictException.class, () -> dispatchService.dispatch(10L, "SUV", 2));
+    }
+
+    @Test
+    void dispatch_shouldRequirePickupCoordinates() {
+        Reservation reservation = reservation();
+        reservation.setPickupLatitude(null);
+        when(reservationService.getReservationById(10L)).thenReturn(reservation);
+
+        assertThrows(IllegalArgumentException.class, () -> dispatchService.dispatch(10L, "SUV", null));
+    }
+
+    @Test
+    void findNearest_shouldRejectInvalidCoordinates() {
+        assertThrows(IllegalArgumentException.class, () -> dispatchService.findNearest(95, LON, "SUV", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> dispatchService.findNearest(LAT, 200, "SUV", null, null, null));
+    }
+
+    @Test
+    void updatePosition_shouldRejectUnknownVehicle() {
+        assertThrows(EntityNotFoundException.class, () -> dispatchService.updatePosition(99L, LAT, LON));
+    }
+
+    private static Reservation reservation() {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(10L);
+        reservation.setCustomerId(7L);
+        reservation.setVehicleId(1L);
+        reservation.setPickupTime(PICKUP);
+        reservation.setPickupLatitude(LAT);
+        reservation.setPickupLongitude(LON);
+        reservation.setStatus("CONFIRMED");
+        return reservation;
+    }
+
+    private static List<Long> ids(List<Nearby> nearby) {
+        return nearby.stream().map(Nearby::vehicleId).collect(Collectors.toList());
+    }
+}
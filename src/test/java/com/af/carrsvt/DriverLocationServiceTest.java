@@ -0,0 +1,60 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.service.DriverLocationService;
+import com.af.carrsvt.service.DriverLocationService.IngestResult;
+import com.af.carrsvt.service.DriverLocationStore;
+import com.af.carrsvt.service.FleetIndex;
+import com.af.carrsvt.service.LocationPing;
+import com.af.carrsvt.service.LocationTrailWriter;
+import com.af.carrsvt.service.VehicleLocationIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DriverLocationServiceTest {
+
+    @Mock
+    private LocationTrailWriter trailWriter;
+
+    private final DriverLocationStore store = new DriverLocationStore();
+    private final FleetIndex fleetIndex = new FleetIndex();
+    private final DriverLocationService locationService = new DriverLocationService();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(locationService, "store", store);
+        ReflectionTestUtils.setField(locationService, "trailWriter", trailWriter);
+        ReflectionTestUtils.setField(locationService, "fleetIndex", fleetIndex);
+        ReflectionTestUtils.setField(locationService, "locationIndex", new VehicleLocationIndex());
+        store.bindTo(registry);
+        fleetIndex.putDriver(1L);
+    }
+
+    @Test
+    void ingest_shouldRejectPingsFromUnknownDrivers() {
+        LocationPing known = new LocationPing(1L, -6.20, 106.80, 1_000);
+
+        IngestResult result = locationService.ingest(List.of(known, new LocationPing(99L, -6.21, 106.81, 1_000)));
+
+        assertEquals(1, result.accepted());
+        assertEquals(1, result.rejected());
+        assertEquals(1, store.size());
+        assertNull(store.latest(99L));
+        verify(trailWriter).offerAll(List.of(known));
+        assertEquals(1.0, registry.get("location.pings").tag("result", "rejected").functionCounter().count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.service.DriverLocationStore;
+import com.af.carrsvt.service.LocationPing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DriverLocationStoreTest {
+
+    private final DriverLocationStore store = new DriverLocationStore();
+
+    @Test
+    void updateAll_shouldKeepNewestPingPerDriver() {
+        BitSet latest = store.updateAll(List.of(
+            new LocationPing(1L, -6.20, 106.80, 1_000),
+            new LocationPing(2L, -6.21, 106.81, 1_000),
+            new LocationPing(1L, -6.22, 106.82, 3_000),
+            new LocationPing(1L, -6.23, 106.83, 2_000)));
+
+        assertEquals(BitSet.valueOf(new long[] {0b0110}), latest);
+        assertEquals(new LocationPing(1L, -6.22, 106.82, 3_000), store.latest(1L));
+        assertEquals(new LocationPing(2L, -6.21, 106.81, 1_000), store.latest(2L));
+        assertNull(store.latest(3L));
+    }
+
+    @Test
+    void updateAll_shouldIgnorePingsOlderThanStoredPosition() {
+        store.updateAll(List.of(new LocationPing(1L, -6.20, 106.80, 5_000)));
+
+        BitSet latest = store.updateAll(List.of(new LocationPing(1L, -6.30, 106.90, 4_000)));
+
+        assertEquals(0, latest.cardinality());
+        assertEquals(-6.20, store.latest(1L).latitude());
+    }
+
+    @Test
+    void updateAll_shouldSurviveGrowthAndCountPings() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.bindTo(registry);
+        List<LocationPing> pings = new ArrayList<>();
+        for (long driverId = 1; driverId <= 5_000; driverId++) {
+            pings.add(new LocationPing(driverId * 7919, -6.2, 106.8, driverId));
+        }
+        pings.add(new LocationPing(7919, -6.3, 106.9, 0));
+
+        store.updateAll(pings);
+
+        assertEquals(5_000, store.size());
+        assertEquals(5_000L * 7919, store.latest(5_000L * 7919).driverId());
+        assertEquals(-6.2, store.latest(7919).latitude());
+        assertEquals(5_000.0, registry.get("location.pings").tag("result", "applied").functionCounter().count());
+        assertEquals(1.0, registry.get("location.pings").tag("result", "coalesced").functionCounter().count());
+    }
+}
@@ -0,0 +1,100 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.af.carrsvt.entity.Driver;
+import com.af.carrsvt.repository.DriverRepository;
+import com.af.carrsvt.service.CacheNames;
+import com.af.carrsvt.service.DriverService;
+import com.af.carrsvt.service.FleetIndex;
+
+@SpringJUnitConfig
+class EntityCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheNames.DRIVERS);
+            cacheManager.setCacheSpecification("maximumSize=100,recordStats");
+            return cacheManager;
+        }
+
+        @Bean
+        DriverService driverService() {
+            return new DriverService();
+        }
+    }
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private DriverRepository driverRepository;
+
+    @MockitoBean
+    private FleetIndex fleetIndex;
+
+    private final Driver driver = new Driver();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheNames.DRIVERS).clear();
+        driver.setDriverId(1L);
+        driver.setUsername("budi");
+        when(driverRepository.findById(1L)).thenReturn(Optional.of(driver));
+    }
+
+    @Test
+    void getDriverById_shouldHitDatabaseOnce() {
+        Driver first = driverService.getDriverById(1L);
+        Driver second = driverService.getDriverById(1L);
+
+        assertSame(first, second);
+        verify(driverRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateDriver_shouldEvictCachedEntry() {
+        when(driverRepository.save(any(Driver.class))).thenAnswer(inv -> inv.getArgument(0));
+        driverService.getDriverById(1L);
+
+        Driver details = new Driver();
+        details.setUsername("budi2");
+        driverService.updateDriver(1L, details);
+        driverService.getDriverById(1L);
+
+        // one load to warm the cache, one inside update, one after eviction
+        verify(driverRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void deleteDriver_shouldEvictCachedEntry() {
+        driverService.getDriverById(1L);
+        driverService.deleteDriver(1L);
+
+        assertNull(cacheManager.getCache(CacheNames.DRIVERS).get(1L));
+    }
+}
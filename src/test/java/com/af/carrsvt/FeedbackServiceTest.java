@@ -0,0 +1,77 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.Feedback;
+import com.af.carrsvt.repository.FeedbackRepository;
+import com.af.carrsvt.service.FeedbackService;
+import com.af.carrsvt.service.RatingService;
+import com.af.carrsvt.service.RatingService.Rated;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackServiceTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private FeedbackService feedbackService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void updateFeedback_shouldMoveRollupsFromTheLockedRow() {
+        Feedback stored = feedback(3);
+        when(feedbackRepository.lockById(1L)).thenReturn(Optional.of(stored));
+        when(feedbackRepository.save(stored)).thenReturn(stored);
+
+        feedbackService.updateFeedback(1L, feedback(5));
+
+        verify(feedbackRepository, never()).findById(1L);
+        verify(ratingService).apply(new Rated(7L, 10L, 100L, 3), new Rated(7L, 10L, 100L, 5));
+    }
+
+    @Test
+    void updateFeedback_shouldRejectUnknownFeedback() {
+        when(feedbackRepository.lockById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> feedbackService.updateFeedback(2L, feedback(5)));
+        verify(ratingService, never()).apply(any(), any());
+    }
+
+    private static Feedback feedback(int rating) {
+        Feedback feedback = new Feedback();
+        feedback.setCustomerId(7L);
+        feedback.setReservationId(20L);
+        feedback.setVehicleId(10L);
+        feedback.setDriverId(100L);
+        feedback.setRating(rating);
+        return feedback;
+    }
+}
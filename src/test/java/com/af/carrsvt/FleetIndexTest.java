@@ -0,0 +1,79 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.service.FleetIndex;
+import com.af.carrsvt.service.VehicleAvailabilityIndex;
+import com.af.carrsvt.service.VehicleAvailabilityIndex.Slot;
+
+class FleetIndexTest {
+
+    private static final long FROM = OffsetDateTime.parse("2026-03-01T10:00:00Z").toInstant().toEpochMilli();
+    private static final long TO = FROM + 7_200_000L;
+
+    private final VehicleAvailabilityIndex availabilityIndex = new VehicleAvailabilityIndex();
+    private final FleetIndex fleetIndex = new FleetIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fleetIndex, "availabilityIndex", availabilityIndex);
+        fleetIndex.put(1L, null, "SUV", "AVAILABLE");
+        fleetIndex.put(2L, null, "Sedan", "AVAILABLE");
+        fleetIndex.put(3L, null, "suv", "MAINTENANCE");
+        fleetIndex.put(4L, null, "SUV", "AVAILABLE");
+    }
+
+    @Test
+    void findAvailable_shouldIntersectTypeStatusAndCalendar() {
+        availabilityIndex.add(new Slot(10L, 4L, FROM + 3_600_000L, TO + 3_600_000L));
+
+        assertArrayEquals(new long[] {1L}, fleetIndex.findAvailable("suv", "available", FROM, TO, 10));
+        assertArrayEquals(new long[] {1L, 4L}, fleetIndex.findAvailable("SUV", "AVAILABLE", TO + 3_600_000L, TO + 7_200_000L, 10));
+        assertArrayEquals(new long[] {1L, 2L, 3L}, fleetIndex.findAvailable(null, null, FROM, TO, 10));
+    }
+
+    @Test
+    void put_shouldMoveVehicleBetweenBitsets() {
+        fleetIndex.put(3L, null, "SUV", "AVAILABLE");
+        fleetIndex.put(1L, null, "Van", "AVAILABLE");
+
+        assertArrayEquals(new long[] {3L, 4L}, fleetIndex.findAvailable("SUV", "AVAILABLE", FROM, TO, 10));
+        assertArrayEquals(new long[] {1L}, fleetIndex.findAvailable("VAN", "AVAILABLE", FROM, TO, 10));
+    }
+
+    @Test
+    void remove_shouldDropVehicleFromSearches() {
+        fleetIndex.remove(1L);
+
+        assertArrayEquals(new long[] {4L}, fleetIndex.findAvailable("SUV", "AVAILABLE", FROM, TO, 10));
+        assertArrayEquals(new long[0], fleetIndex.findAvailable("TRUCK", "AVAILABLE", FROM, TO, 10));
+    }
+
+    @Test
+    void findAvailable_shouldStopAtLimitAndSurviveGrowth() {
+        for (long id = 100; id < 3_000; id++) {
+            fleetIndex.put(id, null, "BUS", "AVAILABLE");
+        }
+
+        assertArrayEquals(new long[] {100L, 101L}, fleetIndex.findAvailable("BUS", "AVAILABLE", FROM, TO, 2));
+    }
+
+    @Test
+    void isKnownDriver_shouldFollowPutAndRemove() {
+        fleetIndex.putDriver(7L);
+        fleetIndex.putDriver(8L);
+        fleetIndex.removeDriver(8L);
+
+        assertTrue(fleetIndex.isKnownDriver(7L));
+        assertFalse(fleetIndex.isKnownDriver(8L));
+        assertFalse(fleetIndex.isKnownDriver(9L));
+    }
+}
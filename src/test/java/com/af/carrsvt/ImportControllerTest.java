@@ -0,0 +1,109 @@
+package com.af.carrsvt;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import jakarta.persistence.EntityNotFoundException;
+
+import com.af.carrsvt.controller.ImportController;
+import com.af.carrsvt.dto.ImportJobDto;
+import com.af.carrsvt.dto.ImportRowErrorDto;
+import com.af.carrsvt.exception.GlobalExceptionHandler;
+import com.af.carrsvt.service.ImportFormat;
+import com.af.carrsvt.service.ImportJob;
+import com.af.carrsvt.service.ImportService;
+import com.af.carrsvt.service.ImportTarget;
+
+@ExtendWith(MockitoExtension.class)
+class ImportControllerTest {
+
+    @Mock
+    private ImportService importService;
+
+    @InjectMocks
+    private ImportController importController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(importController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void startImport_shouldQueueJobWithFormatFromFileName() throws Exception {
+        ImportJobDto dto = new ImportJobDto();
+        dto.setJobId("job-1");
+        dto.setState("QUEUED");
+        ImportJob job = mock(ImportJob.class);
+        when(job.getJobId()).thenReturn("job-1");
+        when(job.snapshot()).thenReturn(dto);
+        when(importService.submit(eq(ImportTarget.VEHICLES), eq(ImportFormat.CSV), any(Path.class))).thenReturn(job);
+
+        MockMultipartFile file = new MockMultipartFile("file", "fleet.csv", "text/csv",
+            "vehicleType,licensePlate\nSUV,ABC-1\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/imports/vehicles").file(file))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", "/api/imports/job-1"))
+            .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void startImport_shouldReturnBadRequest_whenTargetUnknown() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "fleet.csv", "text/csv", new byte[0]);
+
+        mockMvc.perform(multipart("/api/imports/payments").file(file))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getImport_shouldReturnProgressAndRowErrors() throws Exception {
+        ImportJobDto dto = new ImportJobDto();
+        dto.setJobId("job-1");
+        dto.setState("COMPLETED");
+        dto.setRowsRead(3);
+        dto.setRowsImported(2);
+        dto.setRowsFailed(1);
+        dto.setErrors(List.of(new ImportRowErrorDto(3, "licensePlate: must not be blank")));
+        ImportJob job = mock(ImportJob.class);
+        when(job.snapshot()).thenReturn(dto);
+        when(importService.getJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/imports/job-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rowsImported").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void getImport_shouldReturnNotFound_whenJobUnknown() throws Exception {
+        when(importService.getJob("missing")).thenThrow(new EntityNotFoundException("Import job not found"));
+
+        mockMvc.perform(get("/api/imports/missing"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,77 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.dto.DriverDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.service.ImportFormat;
+import com.af.carrsvt.service.ImportFormat.ImportRow;
+import com.af.carrsvt.service.ImportFormat.RowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ImportFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void csv_shouldMapHeaderColumnsAndTrackStartLines() throws IOException {
+        String csv = "vehicleType,licensePlate,driverId,status\n"
+            + "SUV,ABC-1,7,AVAILABLE\n"
+            + "\n"
+            + "\"Van, long\",\"AB\"\"C\n2\",,\n";
+        RowReader rows = ImportFormat.CSV.open(new StringReader(csv));
+
+        ImportRow first = rows.next();
+        VehicleDto suv = first.read(objectMapper, VehicleDto.class);
+        assertEquals(2, first.line());
+        assertEquals("SUV", suv.getVehicleType());
+        assertEquals(7L, suv.getDriverId());
+
+        ImportRow second = rows.next();
+        VehicleDto van = second.read(objectMapper, VehicleDto.class);
+        assertEquals(4, second.line());
+        assertEquals("Van, long", van.getVehicleType());
+        assertEquals("AB\"C\n2", van.getLicensePlate());
+        assertNull(van.getDriverId());
+        assertNull(van.getStatus());
+
+        assertNull(rows.next());
+    }
+
+    @Test
+    void csv_shouldRejectRowWithExtraFields() throws IOException {
+        RowReader rows = ImportFormat.CSV.open(new StringReader("vehicleType,licensePlate\nSUV,A,B\n"));
+
+        ImportRow row = rows.next();
+        assertThrows(IllegalArgumentException.class, () -> row.read(objectMapper, VehicleDto.class));
+    }
+
+    @Test
+    void csv_shouldFailOnUnterminatedQuote() throws IOException {
+        RowReader rows = ImportFormat.CSV.open(new StringReader("vehicleType\n\"SUV\n"));
+
+        assertThrows(IllegalArgumentException.class, rows::next);
+    }
+
+    @Test
+    void ndjson_shouldSkipBlankLinesAndKeepLineNumbers() throws IOException {
+        String ndjson = "{\"username\":\"d1\",\"dateOfBirth\":\"1990-04-01\"}\n\n{\"username\":\"d2\"}\n";
+        RowReader rows = ImportFormat.NDJSON.open(new StringReader(ndjson));
+
+        ImportRow first = rows.next();
+        assertEquals(1, first.line());
+        assertEquals(LocalDate.of(1990, 4, 1), first.read(objectMapper, DriverDto.class).getDateOfBirth());
+        ImportRow second = rows.next();
+        assertEquals(3, second.line());
+        assertEquals("d2", second.read(objectMapper, DriverDto.class).getUsername());
+        assertNull(rows.next());
+    }
+}
@@ -0,0 +1,48 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
+
+class KeysetTest {
+
+    @Test
+    void page_shouldEmitCursorOnlyWhenMoreRowsExist() {
+        Keyset keyset = Keyset.of(null, null, 2, "desc");
+
+        KeysetPage<Long> full = keyset.page(List.of(30L, 20L, 10L), id -> id);
+        assertEquals(List.of(30L, 20L), full.getItems());
+        assertNotNull(full.getNextCursor());
+
+        KeysetPage<Long> last = keyset.page(List.of(30L, 20L), id -> id);
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void cursor_shouldRoundTripLastIdAndDirection() {
+        Keyset keyset = Keyset.of(null, null, 2, "desc");
+        String cursor = keyset.page(List.of(30L, 20L, 10L), id -> id).getNextCursor();
+
+        Keyset next = Keyset.of(cursor, null, 2, null);
+        assertEquals(20L, next.getAfterId());
+        assertEquals(Sort.Direction.DESC, next.getDirection());
+    }
+
+    @Test
+    void of_shouldClampLimitAndRejectGarbage() {
+        assertEquals(Keyset.MAX_LIMIT, Keyset.of(null, null, 100_000, null).getLimit());
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.of(null, 5L, null, null).getLimit());
+        assertThrows(IllegalArgumentException.class, () -> Keyset.of(null, null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> Keyset.of("%%%", null, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> Keyset.of("eDox", null, 10, null));
+    }
+}
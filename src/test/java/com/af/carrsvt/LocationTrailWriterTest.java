@@ -0,0 +1,91 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.service.LocationPing;
+import com.af.carrsvt.service.LocationTrailWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class LocationTrailWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LocationTrailWriter writer = new LocationTrailWriter(3, 2, Duration.ofMillis(50));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", jdbcTemplate);
+        writer.bindTo(registry);
+    }
+
+    @Test
+    void offerAll_shouldDropPingsOnceQueueIsFull() {
+        assertEquals(2, writer.offerAll(pings(5)));
+
+        assertEquals(3.0, registry.get("location.trail.queue").gauge().value());
+        assertEquals(2.0, registry.get("location.trail").tag("result", "dropped").functionCounter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldInsertQueuedPingsInBatches() {
+        writer.offerAll(pings(3));
+
+        assertEquals(2, writer.flush());
+        assertEquals(1, writer.flush());
+        assertEquals(0, writer.flush());
+
+        ArgumentCaptor<Collection<LocationPing>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq("insert into driver_location (driver_id, latitude, longitude, recorded_at) values (?, ?, ?, ?)"),
+            batches.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(2, 1), batches.getAllValues().stream().map(Collection::size).collect(Collectors.toList()));
+        assertEquals(3.0, registry.get("location.trail").tag("result", "written").functionCounter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldCountFailedBatches() {
+        when(jdbcTemplate.batchUpdate(any(String.class), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("down"));
+        writer.offerAll(pings(2));
+
+        writer.flush();
+
+        assertEquals(2.0, registry.get("location.trail").tag("result", "failed").functionCounter().count());
+    }
+
+    private static List<LocationPing> pings(int n) {
+        List<LocationPing> pings = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            pings.add(new LocationPing(i, -6.2, 106.8, i));
+        }
+        return pings;
+    }
+}
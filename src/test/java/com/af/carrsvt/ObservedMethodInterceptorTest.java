@@ -0,0 +1,89 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import com.af.carrsvt.config.ObservedMethodInterceptor;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.mapper.VehicleMapper;
+import com.af.carrsvt.service.MetricNames;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+class ObservedMethodInterceptorTest {
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+    private final List<Observation.Context> stopped = new ArrayList<>();
+    private final VehicleDto dto = new VehicleDto();
+
+    private final VehicleMapper target = new VehicleMapper() {
+        @Override
+        public VehicleDto vehicleToVehicleDto(Vehicle vehicle) {
+            return dto;
+        }
+
+        @Override
+        public Vehicle vehicleDtoToVehicle(VehicleDto vehicleDto) {
+            throw new IllegalArgumentException("bad dto");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void invoke_shouldObserveCallUnderInterfaceName() {
+        VehicleDto result = proxy().vehicleToVehicleDto(new Vehicle());
+
+        assertSame(dto, result);
+        assertEquals(1, stopped.size());
+        assertEquals(MetricNames.MAPPER_CALLS, stopped.get(0).getName());
+        assertEquals("VehicleMapper.vehicleToVehicleDto", stopped.get(0).getContextualName());
+    }
+
+    @Test
+    void invoke_shouldRecordError() {
+        assertThrows(IllegalArgumentException.class, () -> proxy().vehicleDtoToVehicle(dto));
+
+        assertEquals(1, stopped.size());
+        assertTrue(stopped.get(0).getError() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void invoke_shouldSkipObservation_whenPredicateRejects() {
+        registry.observationConfig().observationPredicate((name, context) -> false);
+
+        assertSame(dto, proxy().vehicleToVehicleDto(new Vehicle()));
+        assertTrue(stopped.isEmpty());
+    }
+
+    private VehicleMapper proxy() {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice(new ObservedMethodInterceptor(MetricNames.MAPPER_CALLS, () -> registry));
+        return (VehicleMapper) factory.getProxy();
+    }
+}
@@ -1,12 +1,19 @@
 package com.af.carrsvt;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
@@ -20,6 +27,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -29,6 +37,7 @@ import com.af.carrsvt.dto.PaymentDto;
 import com.af.carrsvt.entity.Payment;
 import com.af.carrsvt.exception.GlobalExceptionHandler;
 import com.af.carrsvt.mapper.PaymentMapper;
+import com.af.carrsvt.service.ExportSink;
 import com.af.carrsvt.service.PaymentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -81,6 +90,46 @@ class PaymentControllerTest {
             .andExpect(jsonPath("$.paymentId").value(1L));
     }
 
+    @Test
+    void createPayment_shouldMarkReplay_whenIdempotencyKeySeenBefore() throws Exception {
+        PaymentDto requestDto = new PaymentDto();
+        requestDto.setReservationId(1L);
+        requestDto.setAmount(new BigDecimal("100000"));
+        requestDto.setPaymentMethod("CARD");
+
+        Payment entity = new Payment();
+        Payment original = new Payment();
+        original.setPaymentId(7L);
+        PaymentDto responseDto = new PaymentDto();
+        responseDto.setPaymentId(7L);
+
+        when(paymentMapper.paymentDtoToPayment(any(PaymentDto.class))).thenReturn(entity);
+        when(paymentService.savePayment(entity, "", "key-1")).thenReturn(new PaymentService.CreateResult(original, true));
+        when(paymentMapper.paymentToPaymentDto(original)).thenReturn(responseDto);
+
+        mockMvc.perform(post("/api/payments/create")
+            .header("Idempotency-Key", "key-1")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content(Objects.requireNonNull(objectMapper.writeValueAsString(requestDto))))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.paymentId").value(7L));
+    }
+
+    @Test
+    void createPayment_shouldRejectBlankIdempotencyKey() throws Exception {
+        PaymentDto requestDto = new PaymentDto();
+        requestDto.setReservationId(1L);
+        requestDto.setAmount(new BigDecimal("100000"));
+        requestDto.setPaymentMethod("CARD");
+
+        mockMvc.perform(post("/api/payments/create")
+            .header("Idempotency-Key", " ")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content(Objects.requireNonNull(objectMapper.writeValueAsString(requestDto))))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updatePayment_shouldReturnUpdatedPayment() throws Exception {
         PaymentDto requestDto = new PaymentDto();
@@ -157,4 +206,37 @@ class PaymentControllerTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.status").value(404));
     }
+
+    @Test
+    void exportPayments_shouldStreamCsvRows() throws Exception {
+        Payment payment = new Payment();
+        PaymentDto row = new PaymentDto();
+        row.setPaymentId(5L);
+        row.setReservationId(2L);
+        row.setAmount(new BigDecimal("1E+2"));
+        row.setPaymentMethod("CARD, VISA");
+        row.setStatus("PAID");
+
+        doAnswer(invocation -> {
+            ExportSink<Payment> sink = invocation.getArgument(1);
+            sink.accept(payment);
+            return null;
+        }).when(paymentService).exportPayments(eq(0L), any());
+        when(paymentMapper.paymentToPaymentDto(payment)).thenReturn(row);
+
+        MvcResult result = mockMvc.perform(get("/api/payments/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string("paymentId,reservationId,paymentTime,amount,paymentMethod,status\n"
+                + "5,2,,100,\"CARD, VISA\",PAID\n"));
+    }
+
+    @Test
+    void exportPayments_shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/payments/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
 }
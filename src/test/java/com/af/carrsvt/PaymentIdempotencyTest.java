@@ -0,0 +1,166 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.PaymentOutbox;
+import com.af.carrsvt.exception.IdempotencyKeyReuseException;
+import com.af.carrsvt.exception.PaymentConflictException;
+import com.af.carrsvt.repository.PaymentOutboxRepository;
+import com.af.carrsvt.repository.PaymentRepository;
+import com.af.carrsvt.service.IdempotencyCache;
+import com.af.carrsvt.service.PaymentService;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIdempotencyTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentOutboxRepository outboxRepository;
+
+    @InjectMocks
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentService, "idempotencyCache",
+            new IdempotencyCache(Duration.ofMinutes(5), 100, Duration.ofMillis(50)));
+        ReflectionTestUtils.setField(paymentService, "transactionTemplate",
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void savePayment_shouldInsertOnce_andReplayFromCache() {
+        Payment saved = payment(new BigDecimal("100.00"));
+        saved.setPaymentId(9L);
+        when(paymentRepository.save(any(Payment.class))).thenReturn(saved);
+        when(paymentRepository.findById(9L)).thenReturn(Optional.of(saved));
+
+        PaymentService.CreateResult first = paymentService.savePayment(payment(new BigDecimal("100.00")), "abah", "k1");
+        PaymentService.CreateResult retry = paymentService.savePayment(payment(new BigDecimal("100")), "abah", "k1");
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(saved, retry.payment());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(paymentRepository, never()).findByIdempotencyKey(anyString());
+    }
+
+    @Test
+    void savePayment_shouldScopeKeysPerCaller() {
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        paymentService.savePayment(payment(BigDecimal.TEN), "abah", "k1");
+        paymentService.savePayment(payment(BigDecimal.TEN), "soleh", "k1");
+
+        verify(paymentRepository, times(2)).save(any(Payment.class));
+    }
+
+    @Test
+    void savePayment_shouldRejectKeyReuseWithDifferentBody() {
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        paymentService.savePayment(payment(BigDecimal.TEN), "abah", "k1");
+
+        assertThrows(IdempotencyKeyReuseException.class,
+            () -> paymentService.savePayment(payment(BigDecimal.ONE), "abah", "k1"));
+    }
+
+    @Test
+    void savePayment_shouldReplayRowThatWonUniqueIndex() {
+        Payment original = payment(BigDecimal.TEN);
+        original.setPaymentId(3L);
+        original.setRequestHash(null);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            // the request fields were hashed onto the entity before the insert; copy them to the "other node's" row
+            original.setRequestHash(invocation.<Payment>getArgument(0).getRequestHash());
+            throw new DataIntegrityViolationException("Duplicate entry for key 'uk_payment_idempotency_key'");
+        });
+        when(paymentRepository.findByIdempotencyKey(IdempotencyCache.hash("abah", "k1"))).thenReturn(Optional.of(original));
+
+        PaymentService.CreateResult result = paymentService.savePayment(payment(BigDecimal.TEN), "abah", "k1");
+
+        assertTrue(result.replayed());
+        assertEquals(3L, result.payment().getPaymentId());
+    }
+
+    @Test
+    void savePayment_shouldForgetKey_whenInsertFails() {
+        when(paymentRepository.save(any(Payment.class)))
+            .thenThrow(new DataIntegrityViolationException("reservation does not exist"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentRepository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> paymentService.savePayment(payment(BigDecimal.TEN), "abah", "k1"));
+        assertFalse(paymentService.savePayment(payment(BigDecimal.TEN), "abah", "k1").replayed());
+    }
+
+    @Test
+    void updatePayment_shouldKeepStatus() {
+        Payment stored = payment(BigDecimal.TEN);
+        stored.setPaymentId(3L);
+        stored.setStatus("PENDING");
+        when(paymentRepository.lockById(3L)).thenReturn(Optional.of(stored));
+        when(outboxRepository.lockByPaymentId(3L)).thenReturn(Optional.of(new PaymentOutbox(3L, OffsetDateTime.now().minusSeconds(1))));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Payment details = payment(BigDecimal.ONE);
+        details.setStatus("PAID");
+
+        Payment updated = paymentService.updatePayment(3L, details);
+
+        assertEquals("PENDING", updated.getStatus());
+        assertEquals(BigDecimal.ONE, updated.getAmount());
+    }
+
+    @Test
+    void updatePayment_shouldRejectPaymentsAWorkerHasClaimed() {
+        Payment settled = payment(BigDecimal.TEN);
+        settled.setStatus("PAID");
+        when(paymentRepository.lockById(3L)).thenReturn(Optional.of(settled));
+        Payment leased = payment(BigDecimal.TEN);
+        leased.setStatus("PENDING");
+        when(paymentRepository.lockById(4L)).thenReturn(Optional.of(leased));
+        when(outboxRepository.lockByPaymentId(4L)).thenReturn(Optional.of(new PaymentOutbox(4L, OffsetDateTime.now().plusMinutes(1))));
+
+        assertThrows(PaymentConflictException.class, () -> paymentService.updatePayment(3L, payment(BigDecimal.ONE)));
+        assertThrows(PaymentConflictException.class, () -> paymentService.updatePayment(4L, payment(BigDecimal.ONE)));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    private static Payment payment(BigDecimal amount) {
+        Payment payment = new Payment();
+        payment.setReservationId(1L);
+        payment.setAmount(amount);
+        payment.setPaymentMethod("CARD");
+        return payment;
+    }
+}
@@ -0,0 +1,128 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.PaymentOutbox;
+import com.af.carrsvt.repository.PaymentOutboxRepository;
+import com.af.carrsvt.repository.PaymentRepository;
+import com.af.carrsvt.service.FakePaymentProcessor;
+import com.af.carrsvt.service.PaymentProcessingWorker;
+import com.af.carrsvt.service.PaymentProcessor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessingWorkerTest {
+
+    @Mock
+    private PaymentOutboxRepository outboxRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentProcessor processor;
+
+    @InjectMocks
+    private PaymentProcessingWorker worker;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(worker, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        ReflectionTestUtils.setField(worker, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "retryDelay", Duration.ofSeconds(5));
+        worker.bindTo(registry);
+    }
+
+    @Test
+    void processBatch_shouldSettleInBulk_andRetryUndecided() {
+        PaymentOutbox paid = outbox(1L, 11L, 0);
+        PaymentOutbox declined = outbox(2L, 12L, 0);
+        PaymentOutbox undecided = outbox(3L, 13L, 0);
+        when(outboxRepository.findDueForUpdate(any(), any())).thenReturn(List.of(paid, declined, undecided));
+        when(paymentRepository.findAllById(List.of(11L, 12L, 13L))).thenReturn(List.of(payment(11L), payment(12L), payment(13L)));
+        when(processor.settle(anyList())).thenReturn(Map.of(11L, PaymentProcessor.PAID, 12L, PaymentProcessor.DECLINED));
+
+        assertEquals(3, worker.processBatch());
+
+        verify(paymentRepository).updateStatus(List.of(11L), PaymentProcessor.PAID);
+        verify(paymentRepository).updateStatus(List.of(12L), PaymentProcessor.DECLINED);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository).reschedule(eq(List.of(3L)), any(OffsetDateTime.class));
+        assertEquals(1.0, registry.get("payment.settled").tag("status", PaymentProcessor.PAID).counter().count());
+    }
+
+    @Test
+    void processBatch_shouldFailPayment_afterMaxAttempts() {
+        PaymentOutbox exhausted = outbox(4L, 14L, 2);
+        when(outboxRepository.findDueForUpdate(any(), any())).thenReturn(List.of(exhausted));
+        when(paymentRepository.findAllById(List.of(14L))).thenReturn(List.of(payment(14L)));
+        when(processor.settle(anyList())).thenThrow(new IllegalStateException("processor down"));
+
+        worker.processBatch();
+
+        verify(paymentRepository).updateStatus(List.of(14L), PaymentProcessingWorker.FAILED);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(4L));
+        verify(outboxRepository, never()).reschedule(anyList(), any());
+    }
+
+    @Test
+    void processBatch_shouldDoNothing_whenOutboxEmpty() {
+        when(outboxRepository.findDueForUpdate(any(), any())).thenReturn(List.of());
+
+        assertEquals(0, worker.processBatch());
+        verify(processor, never()).settle(anyList());
+    }
+
+    @Test
+    void fakeProcessor_shouldDeclineAboveLimit() {
+        FakePaymentProcessor fake = new FakePaymentProcessor(Duration.ZERO, new BigDecimal("500"));
+        Payment small = payment(1L);
+        Payment large = payment(2L);
+        large.setAmount(new BigDecimal("500.01"));
+
+        assertEquals(Map.of(1L, PaymentProcessor.PAID, 2L, PaymentProcessor.DECLINED), fake.settle(List.of(small, large)));
+    }
+
+    private static PaymentOutbox outbox(long outboxId, long paymentId, int attempts) {
+        PaymentOutbox row = new PaymentOutbox(paymentId, OffsetDateTime.now());
+        row.setOutboxId(outboxId);
+        row.setAttempts(attempts);
+        return row;
+    }
+
+    private static Payment payment(long id) {
+        Payment payment = new Payment();
+        payment.setPaymentId(id);
+        payment.setAmount(new BigDecimal("100"));
+        return payment;
+    }
+}
@@ -0,0 +1,63 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.af.carrsvt.config.PoolSizingEnvironmentPostProcessor;
+
+class PoolSizingEnvironmentPostProcessorTest {
+
+    private final PoolSizingEnvironmentPostProcessor postProcessor = new PoolSizingEnvironmentPostProcessor(Supplier::get);
+
+    @Test
+    void postProcess_shouldCapPoolAtDatabaseShare() {
+        // (50 - 10) / 20 instances = 2 connections each, below any CPU bound
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("datasource.pool.auto-size", "true")
+            .withProperty("datasource.pool.db-max-connections", "50")
+            .withProperty("datasource.pool.db-reserved-connections", "10")
+            .withProperty("datasource.pool.instances", "20");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("2", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        assertEquals("2", environment.getProperty("spring.datasource.hikari.minimum-idle"));
+    }
+
+    @Test
+    void postProcess_shouldSizeFromCores_whenDatabaseHasHeadroom() {
+        MockEnvironment environment = new MockEnvironment().withProperty("datasource.pool.auto-size", "true");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        int expected = Math.min(Runtime.getRuntime().availableProcessors() * 2 + 1, 141);
+        assertEquals(String.valueOf(expected), environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+    }
+
+    @Test
+    void postProcess_shouldKeepExplicitPoolSize() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("datasource.pool.auto-size", "true")
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "7");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("7", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        assertFalse(environment.containsProperty("spring.datasource.hikari.minimum-idle"));
+    }
+
+    @Test
+    void postProcess_shouldDoNothing_whenAutoSizeOff() {
+        MockEnvironment environment = new MockEnvironment();
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertFalse(environment.containsProperty("spring.datasource.hikari.maximum-pool-size"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import com.af.carrsvt.dto.PaymentDto;
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.dto.VehicleDto;
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.mapper.PaymentMapper;
+import com.af.carrsvt.mapper.ReservationMapper;
+import com.af.carrsvt.mapper.VehicleMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * List queries build DTOs through a constructor expression over {@code LIST_COLUMNS}; for the same
+ * row that must give what the mapper gives. Every attribute gets a distinct value, so two columns
+ * of the same type swapping places fails the comparison.
+ */
+class ProjectionConstructorTest {
+
+    private static final OffsetDateTime TIME = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void reservationDto_shouldMatchMapper() throws Exception {
+        Reservation row = new Reservation();
+        row.setReservationId(1L);
+        row.setCustomerId(2L);
+        row.setVehicleId(3L);
+        row.setPickupTime(TIME);
+        row.setDropoffTime(TIME.plusHours(2));
+        row.setPickupLocation("Gambir");
+        row.setDropoffLocation("Blok M");
+        row.setStatus("CONFIRMED");
+        row.setPickupLatitude(-6.2);
+        row.setPickupLongitude(106.8);
+
+        assertProjectionMatches(row, ReservationDto.class, ReservationDto.LIST_COLUMNS,
+            Mappers.getMapper(ReservationMapper.class).reservationToReservationDto(row));
+    }
+
+    @Test
+    void vehicleDto_shouldMatchMapper() throws Exception {
+        Vehicle row = new Vehicle();
+        row.setVehicleId(1L);
+        row.setDriverId(2L);
+        row.setVehicleType("SUV");
+        row.setLicensePlate("B 1234 XYZ");
+        row.setStatus("AVAILABLE");
+
+        assertProjectionMatches(row, VehicleDto.class, VehicleDto.LIST_COLUMNS,
+            Mappers.getMapper(VehicleMapper.class).vehicleToVehicleDto(row));
+    }
+
+    @Test
+    void paymentDto_shouldMatchMapper() throws Exception {
+        Payment row = new Payment();
+        row.setPaymentId(1L);
+        row.setReservationId(2L);
+        row.setPaymentTime(TIME);
+        row.setAmount(new BigDecimal("150000.00"));
+        row.setPaymentMethod("CARD");
+        row.setStatus("PAID");
+
+        assertProjectionMatches(row, PaymentDto.class, PaymentDto.LIST_COLUMNS,
+            Mappers.getMapper(PaymentMapper.class).paymentToPaymentDto(row));
+    }
+
+    /** Resolves the constructor by column types and fills it with the row's values, as the constructor expression does. */
+    private <D> void assertProjectionMatches(Object row, Class<D> dtoType, List<String> columns, D mapped) throws Exception {
+        BeanWrapper entity = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Class<?>[] types = new Class<?>[columns.size()];
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = entity.getPropertyType(columns.get(i));
+            values[i] = entity.getPropertyValue(columns.get(i));
+        }
+        D projected = dtoType.getConstructor(types).newInstance(values);
+
+        assertEquals(objectMapper.valueToTree(mapped), objectMapper.valueToTree(projected));
+    }
+}
@@ -0,0 +1,75 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.entity.RateCard;
+import com.af.carrsvt.service.RateTable;
+import com.af.carrsvt.service.RateTable.Quote;
+
+class RateTableTest {
+
+    private static final int MONDAY = 1;
+    private static final int SATURDAY = 6;
+
+    private final RateTable table = RateTable.compile(List.of(
+        card("SUV", null, 0, 24, "50000", "4000", "30000"),
+        card("SUV", null, 7, 10, "75000", "6000", "45000"),
+        card("SUV", SATURDAY, 0, 24, "60000", "5000", "35000"),
+        card("Sedan", null, 0, 24, "30000", "2500.50", "20000")));
+
+    @Test
+    void quote_shouldPriceBaseDistanceAndTimeInMinorUnits() {
+        Quote quote = table.quote("suv", MONDAY, 12, 12_345, 90);
+
+        assertEquals(5_000_000, quote.baseFare());
+        // 4000.00 per km * 12.345 km, rounded half up
+        assertEquals(4_938_000, quote.distanceFare());
+        assertEquals(4_500_000, quote.timeFare());
+        assertEquals(14_438_000, quote.total());
+        assertEquals(250_050, table.quote("Sedan", MONDAY, 0, 1_000, 0).distanceFare());
+    }
+
+    @Test
+    void quote_shouldPreferNarrowerHoursAndSpecificDays() {
+        assertEquals(7_500_000, table.quote("SUV", MONDAY, 8, 0, 0).baseFare());
+        assertEquals(5_000_000, table.quote("SUV", MONDAY, 10, 0, 0).baseFare());
+        assertEquals(6_000_000, table.quote("SUV", SATURDAY, 8, 0, 0).baseFare());
+    }
+
+    @Test
+    void quote_shouldReturnNullWithoutCard() {
+        RateTable daytime = RateTable.compile(List.of(card("Van", null, 8, 20, "1", "1", "1")));
+
+        assertNull(daytime.quote("Van", MONDAY, 21, 0, 0));
+        assertNull(daytime.quote("Truck", MONDAY, 12, 0, 0));
+        assertNull(RateTable.EMPTY.quote("Van", MONDAY, 12, 0, 0));
+    }
+
+    @Test
+    void surged_shouldScaleEachComponentWithoutCompounding() {
+        Quote surged = new Quote(1_001, 333, 0).surged(15_000);
+
+        assertEquals(1_502, surged.baseFare());
+        assertEquals(500, surged.distanceFare());
+        assertEquals(15_000, surged.surgeBasisPoints());
+        assertEquals(1_001, surged.surged(RateTable.NO_SURGE).baseFare());
+    }
+
+    @Test
+    void compile_shouldRejectInvalidCards() {
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(List.of(card("SUV", null, 10, 10, "1", "1", "1"))));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(List.of(card("SUV", 8, 0, 24, "1", "1", "1"))));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(List.of(card("SUV", null, 0, 24, "-1", "1", "1"))));
+    }
+
+    private static RateCard card(String type, Integer dayOfWeek, int startHour, int endHour, String base, String perKm, String perHour) {
+        return new RateCard(null, type, dayOfWeek, startHour, endHour, new BigDecimal(base), new BigDecimal(perKm), new BigDecimal(perHour));
+    }
+}
@@ -0,0 +1,93 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.af.carrsvt.entity.RatingRollup;
+import com.af.carrsvt.repository.RatingRollupRepository;
+import com.af.carrsvt.service.CacheNames;
+import com.af.carrsvt.service.RatingService;
+import com.af.carrsvt.service.RatingService.Rated;
+
+@ExtendWith(MockitoExtension.class)
+class RatingServiceTest {
+
+    @Mock
+    private RatingRollupRepository ratingRollupRepository;
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheNames.RATINGS);
+    private final RatingService ratingService = new RatingService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ratingService, "ratingRollupRepository", ratingRollupRepository);
+        ReflectionTestUtils.setField(ratingService, "cacheManager", cacheManager);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void apply_shouldIncrementEverySubjectOnCreate() {
+        ratingService.apply(Rated.NONE, new Rated(1L, 10L, 100L, 4));
+
+        verify(ratingRollupRepository).increment("CUSTOMERS", 1L, 4, 1);
+        verify(ratingRollupRepository).increment("VEHICLES", 10L, 4, 1);
+        verify(ratingRollupRepository).increment("DRIVERS", 100L, 4, 1);
+        verifyNoMoreInteractions(ratingRollupRepository);
+    }
+
+    @Test
+    void apply_shouldMoveOnlyChangedSubjects() {
+        ratingService.apply(new Rated(1L, 10L, null, 2), new Rated(1L, 11L, null, 2));
+
+        verify(ratingRollupRepository).increment("VEHICLES", 10L, 2, -1);
+        verify(ratingRollupRepository).increment("VEHICLES", 11L, 2, 1);
+        verifyNoMoreInteractions(ratingRollupRepository);
+    }
+
+    @Test
+    void apply_shouldMoveRatingChangeAndIgnoreUnchangedFeedback() {
+        Rated rated = new Rated(1L, 10L, 100L, 3);
+        ratingService.apply(rated, rated);
+        verifyNoInteractions(ratingRollupRepository);
+
+        ratingService.apply(rated, Rated.NONE);
+
+        verify(ratingRollupRepository).increment("CUSTOMERS", 1L, 3, -1);
+        verify(ratingRollupRepository).increment("VEHICLES", 10L, 3, -1);
+        verify(ratingRollupRepository).increment("DRIVERS", 100L, 3, -1);
+    }
+
+    @Test
+    void apply_shouldEvictCachedRollupsOnlyAfterCommit() {
+        Cache cache = cacheManager.getCache(CacheNames.RATINGS);
+        cache.put("VEHICLES:10", new RatingRollup());
+        cache.put("VEHICLES:11", new RatingRollup());
+
+        ratingService.apply(Rated.NONE, new Rated(null, 10L, null, 5));
+        assertNotNull(cache.get("VEHICLES:10"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get("VEHICLES:10"));
+        assertNotNull(cache.get("VEHICLES:11"));
+    }
+}
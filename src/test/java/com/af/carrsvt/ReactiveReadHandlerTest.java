@@ -0,0 +1,95 @@
+package com.af.carrsvt;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.af.carrsvt.controller.ReactiveReadHandler;
+import com.af.carrsvt.dto.ReservationDto;
+import com.af.carrsvt.mapper.VehicleMapper;
+import com.af.carrsvt.security.TokenService;
+import com.af.carrsvt.service.ReactiveReadService;
+
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveReadHandlerTest {
+
+    @Mock
+    private ReactiveReadService readService;
+
+    @Mock
+    private VehicleMapper vehicleMapper;
+
+    @Spy
+    private TokenService tokenService = new TokenService("0123456789abcdef0123456789abcdef", Duration.ofHours(1));
+
+    @InjectMocks
+    private ReactiveReadHandler handler;
+
+    private WebTestClient client;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(handler, "enabledRoutes", Set.of("reservations", "availability"));
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+        bearer = "Bearer " + tokenService.issue(1L, "john");
+    }
+
+    @Test
+    void reservations_shouldStreamNdjson() {
+        ReservationDto first = new ReservationDto();
+        first.setReservationId(1L);
+        ReservationDto second = new ReservationDto();
+        second.setReservationId(2L);
+        when(readService.streamReservations(isNull(), any(), isNull(), isNull(), isNull(), isNull(), isNull()))
+            .thenReturn(Flux.just(first, second));
+
+        client.get().uri("/api/reactive/reservations?customerId=7")
+            .header("Authorization", bearer)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(ReservationDto.class).hasSize(2);
+    }
+
+    @Test
+    void reservations_shouldRejectMissingToken() {
+        client.get().uri("/api/reactive/reservations")
+            .exchange()
+            .expectStatus().isUnauthorized()
+            .expectBody().jsonPath("$.status").isEqualTo(401);
+    }
+
+    @Test
+    void availableVehicles_shouldReturnBadRequest_whenWindowMissing() {
+        client.get().uri("/api/reactive/vehicles/available?from=2026-03-01T10:00:00Z")
+            .header("Authorization", bearer)
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath("$.message").isEqualTo("from and to are required");
+    }
+
+    @Test
+    void vehicles_shouldNotBeRouted_whenDisabled() {
+        client.get().uri("/api/reactive/vehicles")
+            .header("Authorization", bearer)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+}
@@ -1,15 +1,22 @@
 package com.af.carrsvt;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +35,12 @@ import com.af.carrsvt.controller.ReservationController;
 import com.af.carrsvt.dto.ReservationDto;
 import com.af.carrsvt.entity.Reservation;
 import com.af.carrsvt.exception.GlobalExceptionHandler;
+import com.af.carrsvt.exception.ReservationConflictException;
 import com.af.carrsvt.mapper.ReservationMapper;
+import com.af.carrsvt.service.Keyset;
+import com.af.carrsvt.service.KeysetPage;
+import com.af.carrsvt.service.PricingService;
+import com.af.carrsvt.service.RateTable;
 import com.af.carrsvt.service.ReservationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -41,6 +53,9 @@ class ReservationControllerTest {
     @Mock
     private ReservationMapper reservationMapper;
 
+    @Mock
+    private PricingService pricingService;
+
     @InjectMocks
     private ReservationController reservationController;
 
@@ -170,4 +185,148 @@ class ReservationControllerTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.status").value(404));
     }
+
+    @Test
+    void getAllReservations_shouldReturnPageWithNextCursorHeader() throws Exception {
+        ReservationDto firstDto = new ReservationDto();
+        firstDto.setReservationId(1L);
+
+        when(reservationService.getReservations(eq("CONFIRMED"), eq(7L), isNull(), isNull(), isNull(), any(Keyset.class)))
+            .thenReturn(new KeysetPage<>(List.of(firstDto), "next-token"));
+
+        mockMvc.perform(get("/api/reservations/get")
+                .param("status", "CONFIRMED")
+                .param("customerId", "7")
+                .param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Next-Cursor", "next-token"))
+            .andExpect(jsonPath("$[0].reservationId").value(1L));
+    }
+
+    @Test
+    void getAllReservations_shouldReturnBadRequest_whenCursorInvalid() throws Exception {
+        mockMvc.perform(get("/api/reservations/get").param("cursor", "not a cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void createReservation_shouldReturnConflict_whenVehicleAlreadyBooked() throws Exception {
+        ReservationDto requestDto = new ReservationDto();
+        requestDto.setCustomerId(1L);
+        requestDto.setVehicleId(1L);
+        requestDto.setPickupTime(OffsetDateTime.parse("2026-02-20T10:00:00Z"));
+        requestDto.setPickupLocation("Point A");
+        requestDto.setDropoffLocation("Point B");
+
+        Reservation entity = new Reservation();
+
+        when(reservationMapper.reservationDtoToReservation(any(ReservationDto.class))).thenReturn(entity);
+        when(reservationService.saveReservation(entity)).thenThrow(new ReservationConflictException("Vehicle 1 is already booked for the requested time"));
+
+        mockMvc.perform(post("/api/reservations/create")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content(Objects.requireNonNull(objectMapper.writeValueAsString(requestDto))))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void createReservations_shouldReturnSavedBatch() throws Exception {
+        ReservationDto requestDto = new ReservationDto();
+        requestDto.setCustomerId(1L);
+        requestDto.setVehicleId(1L);
+        requestDto.setPickupTime(OffsetDateTime.parse("2026-02-20T10:00:00Z"));
+        requestDto.setPickupLocation("Point A");
+        requestDto.setDropoffLocation("Point B");
+
+        Reservation entity = new Reservation();
+        Reservation savedEntity = new Reservation();
+        savedEntity.setReservationId(101L);
+
+        ReservationDto responseDto = new ReservationDto();
+        responseDto.setReservationId(101L);
+
+        when(reservationMapper.reservationDtoToReservation(any(ReservationDto.class))).thenReturn(entity);
+        when(reservationService.saveReservations(anyList())).thenReturn(List.of(savedEntity, savedEntity));
+        when(reservationMapper.reservationToReservationDto(savedEntity)).thenReturn(responseDto);
+
+        mockMvc.perform(post("/api/reservations/batch")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content(Objects.requireNonNull(objectMapper.writeValueAsString(Map.of("items", List.of(requestDto, requestDto))))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].reservationId").value(101L));
+    }
+
+    @Test
+    void createReservations_shouldReturnBadRequest_whenBatchEmpty() throws Exception {
+        mockMvc.perform(post("/api/reservations/batch")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content("{\"items\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createReservations_shouldReturnConflict_whenAnyItemOverlaps() throws Exception {
+        ReservationDto requestDto = new ReservationDto();
+        requestDto.setCustomerId(1L);
+        requestDto.setVehicleId(1L);
+        requestDto.setPickupTime(OffsetDateTime.parse("2026-02-20T10:00:00Z"));
+        requestDto.setPickupLocation("Point A");
+        requestDto.setDropoffLocation("Point B");
+
+        when(reservationMapper.reservationDtoToReservation(any(ReservationDto.class))).thenReturn(new Reservation());
+        when(reservationService.saveReservations(anyList())).thenThrow(new ReservationConflictException("Vehicle 1 is already booked for the requested time"));
+
+        mockMvc.perform(post("/api/reservations/batch")
+            .contentType(Objects.requireNonNull(MediaType.APPLICATION_JSON))
+            .content(Objects.requireNonNull(objectMapper.writeValueAsString(Map.of("items", List.of(requestDto, requestDto))))))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void quote_shouldReturnFareBreakdown() throws Exception {
+        when(pricingService.quote(eq("SUV"), any(OffsetDateTime.class), isNull(), eq(12.5), isNull(), isNull()))
+            .thenReturn(new RateTable.Quote(5_000_000, 5_000_000, 6_000_050));
+
+        mockMvc.perform(get("/api/reservations/quote")
+                .param("vehicleType", "SUV")
+                .param("pickupTime", "2026-02-20T10:00:00Z")
+                .param("distanceKm", "12.5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.baseFare").value(50000.0))
+            .andExpect(jsonPath("$.timeFare").value(60000.5))
+            .andExpect(jsonPath("$.total").value(160000.5))
+            .andExpect(jsonPath("$.surgeMultiplier").value(1.0));
+    }
+
+    @Test
+    void quote_shouldPassPickupPointAndReturnSurge() throws Exception {
+        when(pricingService.quote(eq("SUV"), any(OffsetDateTime.class), isNull(), eq(0.0), eq(52.52), eq(13.40)))
+            .thenReturn(new RateTable.Quote(1000, 0, 2000).surged(12_500));
+
+        mockMvc.perform(get("/api/reservations/quote")
+                .param("vehicleType", "SUV")
+                .param("pickupTime", "2026-02-20T10:00:00Z")
+                .param("pickupLatitude", "52.52")
+                .param("pickupLongitude", "13.40"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.baseFare").value(12.5))
+            .andExpect(jsonPath("$.total").value(37.5))
+            .andExpect(jsonPath("$.surgeMultiplier").value(1.25));
+    }
+
+    @Test
+    void quote_shouldReturnNotFound_whenNoRateCardApplies() throws Exception {
+        when(pricingService.quote(eq("Bus"), any(OffsetDateTime.class), any(OffsetDateTime.class), eq(0.0), isNull(), isNull()))
+            .thenThrow(new EntityNotFoundException("No rate card for Bus on MONDAY at 3:00"));
+
+        mockMvc.perform(get("/api/reservations/quote")
+                .param("vehicleType", "Bus")
+                .param("pickupTime", "2026-02-23T03:00:00Z")
+                .param("dropoffTime", "2026-02-23T05:00:00Z"))
+            .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,82 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.repository.ReservationRepository;
+import com.af.carrsvt.repository.VehicleRepository;
+import com.af.carrsvt.service.ReservationService;
+import com.af.carrsvt.service.VehicleAvailabilityIndex;
+import com.af.carrsvt.service.VehicleAvailabilityIndex.Slot;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    private static final OffsetDateTime PICKUP = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    private final VehicleAvailabilityIndex availabilityIndex = new VehicleAvailabilityIndex();
+    private final ReservationService reservationService = new ReservationService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationService, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(reservationService, "vehicleRepository", vehicleRepository);
+        ReflectionTestUtils.setField(reservationService, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(reservationService, "transactionTemplate",
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(reservationService, "defaultDuration", Duration.ofHours(2));
+    }
+
+    @Test
+    void updateReservation_shouldRetry_whenVehicleChangedBeforeLocking() {
+        // read on vehicle 1, but a concurrent update moved it to vehicle 2 before the stripes were taken
+        Reservation moved = reservation(2L);
+        availabilityIndex.add(Slot.of(moved));
+        when(reservationRepository.findById(10L)).thenReturn(Optional.of(reservation(1L)), Optional.of(reservation(2L)));
+        when(reservationRepository.lockById(10L)).thenReturn(Optional.of(moved));
+        when(vehicleRepository.lockById(3L)).thenReturn(Optional.of(new Vehicle()));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Reservation updated = reservationService.updateReservation(10L, reservation(3L));
+
+        assertEquals(3L, updated.getVehicleId());
+        assertTrue(availabilityIndex.isFree(2L, PICKUP, PICKUP.plusHours(2)));
+        assertFalse(availabilityIndex.isFree(3L, PICKUP, PICKUP.plusHours(2)));
+    }
+
+    private static Reservation reservation(Long vehicleId) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(10L);
+        reservation.setCustomerId(7L);
+        reservation.setVehicleId(vehicleId);
+        reservation.setPickupTime(PICKUP);
+        reservation.setDropoffTime(PICKUP.plusHours(2));
+        reservation.setStatus("CONFIRMED");
+        return reservation;
+    }
+}
@@ -0,0 +1,65 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.af.carrsvt.entity.Feedback;
+import com.af.carrsvt.repository.FeedbackRepository;
+import com.af.carrsvt.service.FeedbackService;
+import com.af.carrsvt.service.MetricNames;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+class ServiceMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FeedbackRepository feedbackRepository = mock(FeedbackRepository.class);
+    private FeedbackService feedbackService;
+
+    @BeforeEach
+    void setUp() {
+        FeedbackService target = new FeedbackService();
+        ReflectionTestUtils.setField(target, "feedbackRepository", feedbackRepository);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        feedbackService = factory.getProxy();
+    }
+
+    @Test
+    void serviceMethods_shouldBeTimedPerMethod() {
+        when(feedbackRepository.findById(1L)).thenReturn(Optional.of(new Feedback()));
+
+        feedbackService.getFeedbackById(1L);
+        feedbackService.getFeedbackById(1L);
+
+        assertEquals(2, registry.get(MetricNames.SERVICE_CALLS)
+            .tag("class", FeedbackService.class.getName())
+            .tag("method", "getFeedbackById")
+            .tag("exception", "none")
+            .timer().count());
+    }
+
+    @Test
+    void serviceMethods_shouldTagFailures() {
+        when(feedbackRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> feedbackService.getFeedbackById(2L));
+
+        assertEquals(1, registry.get(MetricNames.SERVICE_CALLS)
+            .tag("method", "getFeedbackById")
+            .tag("exception", "EntityNotFoundException")
+            .timer().count());
+    }
+}
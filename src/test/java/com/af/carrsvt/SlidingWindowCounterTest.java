@@ -0,0 +1,57 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.service.SlidingWindowCounter;
+
+class SlidingWindowCounterTest {
+
+    @Test
+    void sum_shouldOnlyCountEventsWithinTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, 1_000, 1);
+
+        counter.add(1, 0);
+        counter.add(2, 1_500);
+        counter.add(4, 2_999);
+
+        assertEquals(7, counter.sum(2_999));
+        assertEquals(6, counter.sum(3_000));
+        assertEquals(4, counter.sum(4_000));
+        assertEquals(0, counter.sum(5_000));
+    }
+
+    @Test
+    void add_shouldResetBucketLastUsedAWindowAgo() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(2, 1_000, 1);
+
+        counter.add(5, 0);
+        counter.add(1, 2_000);
+
+        assertEquals(1, counter.sum(2_000));
+        assertThrows(IllegalArgumentException.class, () -> counter.add(-1, 2_000));
+    }
+
+    @Test
+    void add_shouldNotLoseCountsUnderContention() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4, 60_000, 4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.add(1, 1_000);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, counter.sum(1_000));
+    }
+}
@@ -0,0 +1,60 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.security.TokenService;
+import com.af.carrsvt.security.TokenService.TokenClaims;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofHours(1));
+
+    @Test
+    void verify_shouldReturnIssuedClaims() {
+        String token = tokenService.issue(42L, "abah.soleh");
+
+        TokenClaims claims = tokenService.verify(token);
+
+        assertNotNull(claims);
+        assertEquals(42L, claims.customerId());
+        assertEquals("abah.soleh", claims.username());
+    }
+
+    @Test
+    void verify_shouldRejectTamperedClaims() {
+        String token = tokenService.issue(42L, "abah");
+        String forged = "43" + token.substring(token.indexOf('.'));
+
+        assertNull(tokenService.verify(forged));
+    }
+
+    @Test
+    void verify_shouldRejectTokenSignedWithOtherKey() {
+        String token = new TokenService("fedcba9876543210fedcba9876543210", Duration.ofHours(1)).issue(42L, "abah");
+
+        assertNull(tokenService.verify(token));
+    }
+
+    @Test
+    void verify_shouldRejectExpiredAndMalformedTokens() {
+        String expired = new TokenService(SECRET, Duration.ofSeconds(-1)).issue(42L, "abah");
+
+        assertNull(tokenService.verify(expired));
+        assertNull(tokenService.verify("not-a-token"));
+        assertNull(tokenService.verify("1.2.3." + "A".repeat(43)));
+    }
+
+    @Test
+    void constructor_shouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new TokenService("short", Duration.ofHours(1)));
+    }
+}
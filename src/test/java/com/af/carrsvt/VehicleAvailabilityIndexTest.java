@@ -0,0 +1,99 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.service.VehicleAvailabilityIndex;
+import com.af.carrsvt.service.VehicleAvailabilityIndex.Slot;
+
+class VehicleAvailabilityIndexTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-03-01T10:00:00Z");
+
+    private final VehicleAvailabilityIndex index = new VehicleAvailabilityIndex();
+
+    @Test
+    void isFree_shouldTreatBookingsAsHalfOpenIntervals() {
+        index.add(slot(1L, 7L, 0, 2));
+
+        assertFalse(index.isFree(7L, T0.plusHours(1), T0.plusHours(3)));
+        assertFalse(index.isFree(7L, T0.minusHours(1), T0.plusMinutes(1)));
+        assertTrue(index.isFree(7L, T0.plusHours(2), T0.plusHours(3)));
+        assertTrue(index.isFree(7L, T0.minusHours(1), T0));
+        assertTrue(index.isFree(8L, T0, T0.plusHours(2)));
+    }
+
+    @Test
+    void isFree_shouldIgnoreTheReservationBeingMoved() {
+        Slot own = slot(1L, 7L, 0, 2);
+        index.add(slot(2L, 7L, -3, -1));
+        index.add(own);
+
+        assertTrue(index.isFree(7L, own.start() + 1, own.end() + 1, 1L));
+        assertFalse(index.isFree(7L, own.start() - 7_200_000L, own.end(), 1L));
+    }
+
+    @Test
+    void remove_shouldFreeTheInterval() {
+        Slot slot = slot(1L, 7L, 0, 2);
+        index.add(slot);
+        index.remove(slot);
+
+        assertTrue(index.isFree(7L, T0, T0.plusHours(2)));
+    }
+
+    @Test
+    void slotOf_shouldSkipCancelledReservations() {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(1L);
+        reservation.setVehicleId(7L);
+        reservation.setPickupTime(T0);
+        reservation.setStatus("CANCELLED");
+
+        assertNull(Slot.of(reservation));
+    }
+
+    @Test
+    void stripedCheckAndReserve_shouldAdmitExactlyOneOfConcurrentBookings() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        long from = T0.toInstant().toEpochMilli();
+        long to = T0.plusHours(2).toInstant().toEpochMilli();
+        for (int i = 0; i < threads; i++) {
+            long reservationId = i + 1;
+            pool.submit(() -> {
+                start.await();
+                return index.locks().withLock(7L, () -> {
+                    if (index.isFree(7L, from, to, null)) {
+                        index.add(new Slot(reservationId, 7L, from, to));
+                        booked.incrementAndGet();
+                    }
+                    return null;
+                });
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, booked.get());
+    }
+
+    private static Slot slot(long reservationId, long vehicleId, int fromHour, int toHour) {
+        return new Slot(reservationId, vehicleId,
+            T0.plusHours(fromHour).toInstant().toEpochMilli(), T0.plusHours(toHour).toInstant().toEpochMilli());
+    }
+}
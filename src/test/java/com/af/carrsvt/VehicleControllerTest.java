@@ -3,12 +3,16 @@ package com.af.carrsvt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -156,4 +160,31 @@ class VehicleControllerTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.status").value(404));
     }
+
+    @Test
+    void findAvailableVehicles_shouldReturnMatchingVehicles() throws Exception {
+        Vehicle entity = new Vehicle();
+        entity.setVehicleId(7L);
+        VehicleDto dto = new VehicleDto();
+        dto.setVehicleId(7L);
+
+        when(vehicleService.findAvailableVehicles(eq("SUV"), eq("AVAILABLE"), any(OffsetDateTime.class), any(OffsetDateTime.class), eq(10)))
+            .thenReturn(List.of(entity));
+        when(vehicleMapper.vehicleToVehicleDto(entity)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/vehicles/available")
+            .param("vehicleType", "SUV")
+            .param("from", "2026-03-01T10:00:00Z")
+            .param("to", "2026-03-01T12:00:00Z")
+            .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].vehicleId").value(7L));
+    }
+
+    @Test
+    void findAvailableVehicles_shouldReturnBadRequest_whenWindowMissing() throws Exception {
+        mockMvc.perform(get("/api/vehicles/available").param("from", "2026-03-01T10:00:00Z"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+    }
 }
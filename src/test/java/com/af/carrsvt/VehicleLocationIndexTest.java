@@ -0,0 +1,119 @@
+package com.af.carrsvt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.af.carrsvt.service.VehicleLocationIndex;
+import com.af.carrsvt.service.VehicleLocationIndex.Nearby;
+
+class VehicleLocationIndexTest {
+
+    // central Jakarta
+    private static final double LAT = -6.2000;
+    private static final double LON = 106.8166;
+
+    private final VehicleLocationIndex index = new VehicleLocationIndex();
+
+    @Test
+    void nearest_shouldReturnClosestFirstWithinRadius() {
+        index.update(1L, LAT + 0.030, LON);
+        index.update(2L, LAT + 0.001, LON + 0.001);
+        index.update(3L, LAT - 0.010, LON + 0.020);
+        index.update(4L, LAT + 1.0, LON);
+
+        List<Nearby> nearest = index.nearest(LAT, LON, 10, 25, id -> true);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(nearest));
+        assertEquals(0.157, nearest.get(0).distanceKm(), 0.01);
+        assertEquals(List.of(2L, 3L), ids(index.nearest(LAT, LON, 2, 25, id -> true)));
+    }
+
+    @Test
+    void nearest_shouldSkipFilteredVehicles() {
+        index.update(1L, LAT, LON + 0.001);
+        index.update(2L, LAT, LON + 0.002);
+        index.update(3L, LAT, LON + 0.003);
+
+        assertEquals(List.of(1L, 3L), ids(index.nearest(LAT, LON, 2, 25, id -> id != 2L)));
+    }
+
+    @Test
+    void update_shouldMoveVehicleAcrossCells() {
+        index.update(1L, LAT + 0.2, LON);
+        index.update(2L, LAT + 0.05, LON);
+        index.update(1L, LAT + 0.001, LON);
+
+        assertEquals(List.of(1L, 2L), ids(index.nearest(LAT, LON, 2, 25, id -> true)));
+        assertArrayEquals(new double[] {LAT + 0.001, LON}, index.position(1L), 1e-9);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void remove_shouldDropVehicleAndReuseSlot() {
+        index.update(1L, LAT, LON);
+        index.update(2L, LAT, LON + 0.001);
+        index.remove(1L);
+        index.update(3L, LAT, LON + 0.002);
+
+        assertNull(index.position(1L));
+        assertEquals(List.of(2L, 3L), ids(index.nearest(LAT, LON, 5, 25, id -> true)));
+    }
+
+    @Test
+    void update_shouldRejectInvalidCoordinates() {
+        assertThrows(IllegalArgumentException.class, () -> index.update(1L, 91, LON));
+        assertThrows(IllegalArgumentException.class, () -> index.update(1L, LAT, Double.NaN));
+    }
+
+    @Test
+    void nearest_shouldMatchBruteForceAcrossGrowth() {
+        Random random = new Random(7);
+        double[][] positions = new double[5_000][];
+        for (int id = 0; id < positions.length; id++) {
+            positions[id] = new double[] {LAT + (random.nextDouble() - 0.5) * 0.4, LON + (random.nextDouble() - 0.5) * 0.4};
+            index.update(id, positions[id][0], positions[id][1]);
+        }
+        double lonScale = 111.320 * Math.cos(Math.toRadians(LAT));
+        List<Long> expected = IntStream.range(0, positions.length).boxed()
+            .sorted(Comparator.comparingDouble(id -> Math.hypot((positions[id][0] - LAT) * 110.574, (positions[id][1] - LON) * lonScale)))
+            .limit(20)
+            .map(Integer::longValue)
+            .collect(Collectors.toList());
+
+        assertEquals(expected, ids(index.nearest(LAT, LON, 20, 25, id -> true)));
+    }
+
+    @Test
+    void nearest_shouldFindVehiclesSpreadInLongitudeNearThePole() {
+        double lat = 89.95;
+        index.update(1L, lat, 0.5);
+        index.update(2L, lat, 120.0);
+        index.update(3L, lat - 0.05, -60.0);
+
+        // near the pole a degree of longitude is about 100 m, so all three lie within 25 km
+        List<Nearby> nearest = index.nearest(lat, 0, 10, 25, id -> true);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(nearest));
+        assertEquals(List.of(1L), ids(index.nearest(90, 0, 1, 25, id -> true)));
+    }
+
+    @Test
+    void nearest_shouldRejectInvalidCoordinates() {
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(90.5, LON, 1, 25, id -> true));
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(LAT, -181, 1, 25, id -> true));
+    }
+
+    private static List<Long> ids(List<Nearby> nearby) {
+        return nearby.stream().map(Nearby::vehicleId).collect(Collectors.toList());
+    }
+}
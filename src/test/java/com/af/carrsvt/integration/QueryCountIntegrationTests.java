@@ -0,0 +1,166 @@
+package com.af.carrsvt.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.af.carrsvt.entity.Customer;
+import com.af.carrsvt.entity.Driver;
+import com.af.carrsvt.entity.Feedback;
+import com.af.carrsvt.entity.Payment;
+import com.af.carrsvt.entity.PaymentMethod;
+import com.af.carrsvt.entity.Reservation;
+import com.af.carrsvt.entity.Vehicle;
+import com.af.carrsvt.repository.CustomerRepository;
+import com.af.carrsvt.repository.DriverRepository;
+import com.af.carrsvt.repository.FeedbackRepository;
+import com.af.carrsvt.repository.PaymentMethodRepository;
+import com.af.carrsvt.repository.PaymentRepository;
+import com.af.carrsvt.repository.ReservationRepository;
+import com.af.carrsvt.repository.VehicleRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements each list endpoint prepares over rows with distinct customers,
+ * vehicles, drivers and reservations, so an association that starts loading per row shows
+ * up as a failure instead of a slow page.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ContainerConfiguration.class)
+class QueryCountIntegrationTests {
+
+    private static final int ROWS = 20;
+    private static final long MAX_LIST_STATEMENTS = 1;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(Objects.requireNonNull(context)).build();
+        cleanUp();
+        for (int i = 0; i < ROWS; i++) {
+            Customer c = new Customer();
+            c.setUsername("qc" + i);
+            c.setEmail("qc" + i + "@test.com");
+            c.setStatus("A");
+            c = customerRepository.save(c);
+
+            Driver d = new Driver();
+            d.setUsername("driver" + i);
+            d.setDateOfBirth(LocalDate.of(1990, 1, 1));
+            d.setStatus("A");
+            d = driverRepository.save(d);
+
+            Vehicle v = new Vehicle();
+            v.setDriverId(d.getDriverId());
+            v.setVehicleType("SEDAN");
+            v.setLicensePlate("QC" + i);
+            v.setStatus("AVAILABLE");
+            v = vehicleRepository.save(v);
+
+            Reservation r = new Reservation();
+            r.setCustomerId(c.getCustomerId());
+            r.setVehicleId(v.getVehicleId());
+            r.setPickupTime(OffsetDateTime.now().plusDays(i + 1));
+            r.setDropoffTime(OffsetDateTime.now().plusDays(i + 1).plusHours(2));
+            r.setStatus("BOOKED");
+            r = reservationRepository.save(r);
+
+            Payment p = new Payment();
+            p.setReservationId(r.getReservationId());
+            p.setPaymentTime(OffsetDateTime.now());
+            p.setAmount(new BigDecimal("100.00"));
+            p.setPaymentMethod("CARD");
+            p.setStatus("PAID");
+            paymentRepository.save(p);
+
+            paymentMethodRepository.save(new PaymentMethod(null, c.getCustomerId(), "CARD", "****" + i, true, OffsetDateTime.now(), null));
+
+            Feedback f = new Feedback();
+            f.setCustomerId(c.getCustomerId());
+            f.setReservationId(r.getReservationId());
+            f.setRating(5);
+            feedbackRepository.save(f);
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        feedbackRepository.deleteAll();
+        paymentRepository.deleteAll();
+        paymentMethodRepository.deleteAll();
+        reservationRepository.deleteAll();
+        vehicleRepository.deleteAll();
+        driverRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/customers/get", "/api/drivers/get", "/api/vehicles/get", "/api/reservations/get",
+        "/api/payments/get", "/api/payment-methods/get", "/api/feedbacks/get"
+    })
+    void listEndpoint_shouldUseConstantNumberOfStatements(String path) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(path).param("limit", String.valueOf(ROWS)))
+            .andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_LIST_STATEMENTS,
+            path + " prepared " + statements + " statements for " + ROWS + " rows (budget " + MAX_LIST_STATEMENTS + ")");
+    }
+}